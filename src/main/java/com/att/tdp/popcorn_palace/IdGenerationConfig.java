@@ -0,0 +1,17 @@
+package com.att.tdp.popcorn_palace;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGenerationConfig {
+
+    // Hands the application property to PooledSequenceGenerator through the Hibernate settings
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSize(
+            @Value("${popcorn-palace.id.allocation-size:" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        return properties -> properties.put(PooledSequenceGenerator.ALLOCATION_SIZE, allocationSize);
+    }
+}
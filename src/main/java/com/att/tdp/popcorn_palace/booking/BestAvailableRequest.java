@@ -0,0 +1,20 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import jakarta.validation.constraints.*;
+import org.hibernate.validator.constraints.UUID;
+
+public record BestAvailableRequest(
+
+        @NotNull(message = "Showtime ID is required")
+        @Positive(message = "Showtime Id must be positive")
+        Long showtimeId,
+
+        @NotNull(message = "Party size is required")
+        @Min(value = 1, message = "Party size must be at least 1")
+        @Max(value = 20, message = "At most 20 seats can be booked at once")
+        Integer partySize,
+
+        @UUID(message = "User ID must be a valid UUID")
+        @NotBlank(message = "User ID is required")
+        String userId
+) {}
@@ -0,0 +1,6 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import java.util.List;
+
+// row is 1-based, front row first; bookingIds[i] is the booking of seatNumbers[i]
+public record BestAvailableResponse(Long showtimeId, int row, List<Integer> seatNumbers, List<String> bookingIds) {}
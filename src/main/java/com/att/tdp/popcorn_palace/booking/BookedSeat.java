@@ -0,0 +1,5 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import java.time.Instant;
+
+public record BookedSeat(Long showtimeId, String theater, Instant endTime, Integer seatNumber) {}
@@ -4,22 +4,31 @@ import jakarta.persistence.*;
 import com.att.tdp.popcorn_palace.showTime.Showtime;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
+import java.util.UUID;
 
 @Entity
 @Table(name = "bookings",
         uniqueConstraints = @UniqueConstraint(
                 name = "unique_seat_per_showtime",
                 columnNames = {"showtime_id", "seatNumber"}
+        ),
+        // Booking history: the keyset seek plus the booking columns it returns, read from the index alone
+        indexes = @Index(
+                name = "idx_bookings_user_history",
+                columnList = "userId, createdAt DESC, id DESC, showtime_id, seatNumber"
         ))
 @Getter
 @Setter
 @NoArgsConstructor
 public class Booking {
+    // Native uuid column, time ordered so inserts append to the primary key index
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7.class)
+    private UUID id;
 
     @ManyToOne
     @JoinColumn(name = "showtime_id")
@@ -29,7 +38,7 @@ public class Booking {
     private Integer seatNumber;
 
     @Column(nullable = false)
-    private String userId;
+    private UUID userId;
 
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
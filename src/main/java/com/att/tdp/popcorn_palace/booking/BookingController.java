@@ -1,29 +1,104 @@
 package com.att.tdp.popcorn_palace.booking;
 
+import com.att.tdp.popcorn_palace.booking.admission.AdmissionGate;
+import com.att.tdp.popcorn_palace.booking.exception.AdmissionRejectedException;
+import com.att.tdp.popcorn_palace.booking.exception.BookingNotFoundException;
+import com.att.tdp.popcorn_palace.booking.exception.IdempotencyCacheFullException;
+import com.att.tdp.popcorn_palace.booking.exception.IdempotencyKeyReusedException;
 import com.att.tdp.popcorn_palace.booking.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.booking.idempotency.IdempotencyCache;
 import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/bookings")
 public class BookingController {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final BookingService bookingService;
+    private final IdempotencyCache idempotencyCache;
+    private final AdmissionGate admissionGate;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService,
+                             IdempotencyCache idempotencyCache,
+                             AdmissionGate admissionGate) {
         this.bookingService = bookingService;
+        this.idempotencyCache = idempotencyCache;
+        this.admissionGate = admissionGate;
     }
 
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(
-            @Valid @RequestBody BookingRequest request) throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException {
-        BookingResponse response = bookingService.createBooking(request);
+            @Valid @RequestBody BookingRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey)
+            throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException,
+            IdempotencyKeyReusedException, IdempotencyCacheFullException, AdmissionRejectedException {
+        BookingResponse response;
+        if (idempotencyKey == null) {
+            admissionGate.admit(request.showtimeId());
+            response = bookingService.createBooking(request);
+        } else {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                throw new IllegalArgumentException("Idempotency-Key must be between 1 and 255 characters");
+            }
+            // A replay of a finished request costs nothing, so it does not use up an admission slot
+            Optional<BookingResponse> replayed = idempotencyCache.findCompleted(idempotencyKey, request);
+            if (replayed.isPresent()) {
+                response = replayed.get();
+            } else {
+                admissionGate.admit(request.showtimeId());
+                response = idempotencyCache.execute(idempotencyKey, request, () -> bookingService.createBooking(request));
+            }
+        }
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
+
+    @GetMapping
+    public ResponseEntity<BookingHistoryPage> getUserBookings(@RequestParam(required = false) String userId,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") int limit) {
+        if (userId == null || userId.isBlank()) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        return ResponseEntity.ok(bookingService.getUserBookings(userId, cursor, limit));
+    }
+
+    @DeleteMapping("/{bookingId}")
+    public ResponseEntity<CancelledBooking> cancelBooking(@PathVariable String bookingId) throws BookingNotFoundException {
+        return ResponseEntity.ok(bookingService.cancelBooking(bookingId));
+    }
+
+    @PostMapping("/cancel")
+    public ResponseEntity<CancelSeatsResponse> cancelSeats(@Valid @RequestBody CancelSeatsRequest request) {
+        return ResponseEntity.ok(bookingService.cancelSeats(request));
+    }
+
+    @PostMapping("/multi")
+    public ResponseEntity<MultiSeatBookingResponse> createBookings(
+            @Valid @RequestBody MultiSeatBookingRequest request)
+            throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException, AdmissionRejectedException {
+        admissionGate.admit(request.showtimeId());
+        return ResponseEntity.ok(bookingService.createBookings(request));
+    }
+
+    @PostMapping("/best-available")
+    public ResponseEntity<BestAvailableResponse> bookBestAvailable(@Valid @RequestBody BestAvailableRequest request)
+            throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException, AdmissionRejectedException {
+        admissionGate.admit(request.showtimeId());
+        return ResponseEntity.ok(bookingService.bookBestAvailable(request));
+    }
 }
@@ -0,0 +1,34 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position in a user's booking history: the (createdAt, id) of the last booking
+// returned, handed to clients as an opaque url safe token
+public record BookingCursor(Instant createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static BookingCursor after(BookingHistoryItem item) {
+        return new BookingCursor(item.bookedAt(), item.bookingId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new BookingCursor(Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookingHistoryItem(UUID bookingId, Long showtimeId, Integer seatNumber,
+                                 Instant startTime, String theater, Instant bookedAt) {}
@@ -0,0 +1,6 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record BookingHistoryPage(List<BookingHistoryItem> bookings, String nextCursor) {}
@@ -1,9 +1,43 @@
 package com.att.tdp.popcorn_palace.booking;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, UUID> {
     boolean existsByShowtimeIdAndSeatNumber(Long showtimeId, Integer seatNumber);
+
+    @Query("SELECT b.seatNumber FROM Booking b WHERE b.showtime.id = :showtimeId")
+    List<Integer> findSeatNumbersByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    @Query("SELECT new com.att.tdp.popcorn_palace.booking.BookedSeat(b.showtime.id, b.showtime.theater, b.showtime.endTime, b.seatNumber) " +
+            "FROM Booking b WHERE b.showtime.endTime > :now")
+    Stream<BookedSeat> streamSeatsOfShowtimesEndingAfter(@Param("now") Instant now);
+
+    // Newest first, without loading Showtime or Movie entities
+    @Query("SELECT new com.att.tdp.popcorn_palace.booking.BookingHistoryItem(" +
+            "b.id, s.id, b.seatNumber, s.startTime, s.theater, b.createdAt) " +
+            "FROM Booking b JOIN b.showtime s " +
+            "WHERE b.userId = :userId " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingHistoryItem> findHistoryFirstPage(@Param("userId") UUID userId, Limit limit);
+
+    // Keyset seek: continues strictly after the last row of the previous page
+    @Query("SELECT new com.att.tdp.popcorn_palace.booking.BookingHistoryItem(" +
+            "b.id, s.id, b.seatNumber, s.startTime, s.theater, b.createdAt) " +
+            "FROM Booking b JOIN b.showtime s " +
+            "WHERE b.userId = :userId AND (b.createdAt, b.id) < (:createdAt, :id) " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingHistoryItem> findHistoryPageAfter(@Param("userId") UUID userId,
+                                                  @Param("createdAt") Instant createdAt,
+                                                  @Param("id") UUID id,
+                                                  Limit limit);
 }
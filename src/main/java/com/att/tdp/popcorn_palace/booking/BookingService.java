@@ -1,8 +1,22 @@
 package com.att.tdp.popcorn_palace.booking;
 
+import com.att.tdp.popcorn_palace.booking.exception.BookingNotFoundException;
 import com.att.tdp.popcorn_palace.booking.exception.SeatAlreadyBookedException;
 import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
 
 public interface BookingService {
     BookingResponse createBooking(BookingRequest request) throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException;
+
+    BookingHistoryPage getUserBookings(String userId, String cursor, int limit);
+
+    MultiSeatBookingResponse createBookings(MultiSeatBookingRequest request) throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException;
+
+    BestAvailableResponse bookBestAvailable(BestAvailableRequest request) throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException;
+
+    CancelledBooking cancelBooking(String bookingId) throws BookingNotFoundException;
+
+    CancelSeatsResponse cancelSeats(CancelSeatsRequest request);
+
+    // Persists a seat the caller already took in SeatInventory, e.g. a confirmed hold
+    BookingResponse bookReservedSeat(BookingRequest request) throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException;
 }
@@ -0,0 +1,16 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public record CancelSeatsRequest(
+
+        @NotNull(message = "Showtime ID is required")
+        @Positive(message = "Showtime Id must be positive")
+        Long showtimeId,
+
+        @NotEmpty(message = "Seat numbers are required")
+        @Size(max = 1000, message = "At most 1000 seats can be cancelled at once")
+        List<@NotNull(message = "Seat number is required") @Positive(message = "Seat number must be positive") Integer> seatNumbers
+) {}
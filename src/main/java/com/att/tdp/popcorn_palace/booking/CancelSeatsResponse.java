@@ -0,0 +1,6 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import java.util.List;
+
+// Seats that had a booking; requested seats that were free are left out
+public record CancelSeatsResponse(Long showtimeId, List<Integer> cancelledSeats) {}
@@ -0,0 +1,3 @@
+package com.att.tdp.popcorn_palace.booking;
+
+public record CancelledBooking(String bookingId, Long showtimeId, Integer seatNumber) {}
@@ -0,0 +1,21 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import jakarta.validation.constraints.*;
+import org.hibernate.validator.constraints.UUID;
+
+import java.util.List;
+
+public record MultiSeatBookingRequest(
+
+        @NotNull(message = "Showtime ID is required")
+        @Positive(message = "Showtime Id must be positive")
+        Long showtimeId,
+
+        @NotEmpty(message = "Seat numbers are required")
+        @Size(max = 20, message = "At most 20 seats can be booked at once")
+        List<@NotNull(message = "Seat number is required") @Positive(message = "Seat number must be positive") Integer> seatNumbers,
+
+        @UUID(message = "User ID must be a valid UUID")
+        @NotBlank(message = "User ID is required")
+        String userId
+) {}
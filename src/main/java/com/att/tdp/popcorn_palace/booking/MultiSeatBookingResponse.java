@@ -0,0 +1,5 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import java.util.List;
+
+public record MultiSeatBookingResponse(List<String> bookingIds) {}
@@ -0,0 +1,35 @@
+package com.att.tdp.popcorn_palace.booking;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time ordered UUIDs (RFC 9562 version 7): 48 bits of unix milliseconds, a 12 bit
+// counter that keeps ids from the same millisecond increasing, then 62 random bits.
+// New bookings land at the right edge of the primary key index instead of on a
+// random page, and the native uuid column takes 16 bytes instead of 36 characters.
+public class UuidV7 implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // unix millis << 12 | counter of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long stamp = LAST.accumulateAndGet(now, (last, candidate) -> Math.max(last + 1, candidate));
+        long millis = stamp >>> 12;
+        long counter = stamp & 0xFFF;
+        long mostSigBits = (millis << 16) | 0x7000L | counter;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+}
@@ -0,0 +1,27 @@
+package com.att.tdp.popcorn_palace.booking.admission;
+
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowTimeIdNegException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/bookings/admission")
+public class AdmissionController {
+
+    private final AdmissionGate admissionGate;
+
+    public AdmissionController(AdmissionGate admissionGate) {
+        this.admissionGate = admissionGate;
+    }
+
+    @GetMapping("/{showtimeId}")
+    public ResponseEntity<AdmissionStats> getAdmissionStats(@PathVariable Long showtimeId) {
+        if (showtimeId <= 0) {
+            throw new InvalidShowTimeIdNegException();
+        }
+        return ResponseEntity.ok(admissionGate.stats(showtimeId));
+    }
+}
@@ -0,0 +1,110 @@
+package com.att.tdp.popcorn_palace.booking.admission;
+
+import com.att.tdp.popcorn_palace.booking.exception.AdmissionRejectedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Waiting room in front of the booking path. Every showtime gets its own bucket
+// (generic cell rate algorithm): up to burst requests pass at once, then requests
+// are admitted at ratePerSecond. Requests beyond that are turned away before they
+// reach the database, with the time until a slot frees up and how many requests
+// are ahead of them. A decision is one CAS on the showtime's theoretical arrival time.
+@Component
+public class AdmissionGate {
+
+    // Idle buckets are dropped once this many showtimes have been seen
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final boolean enabled;
+    private final double ratePerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AdmissionGate(@Value("${popcorn-palace.booking.admission.enabled:false}") boolean enabled,
+                         @Value("${popcorn-palace.booking.admission.rate:100}") double ratePerSecond,
+                         @Value("${popcorn-palace.booking.admission.burst:200}") int burst) {
+        this(enabled, ratePerSecond, burst, System::nanoTime);
+    }
+
+    public AdmissionGate(boolean enabled, double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Admission rate must be positive and burst at least 1");
+        }
+        this.enabled = enabled;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.intervalNanos = Math.max((long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond), 1);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+    }
+
+    public void admit(Long showtimeId) throws AdmissionRejectedException {
+        if (!enabled) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        Bucket bucket = bucket(showtimeId, now);
+        while (true) {
+            long arrival = bucket.theoreticalArrival.get();
+            long start = Math.max(arrival, now);
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                bucket.rejected.increment();
+                throw new AdmissionRejectedException(showtimeId,
+                        Math.max(ceilDiv(wait, TimeUnit.SECONDS.toNanos(1)), 1),
+                        ceilDiv(wait, intervalNanos));
+            }
+            if (bucket.theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                bucket.admitted.increment();
+                return;
+            }
+        }
+    }
+
+    public AdmissionStats stats(Long showtimeId) {
+        Bucket bucket = buckets.get(showtimeId);
+        if (bucket == null) {
+            return new AdmissionStats(showtimeId, enabled, ratePerSecond, burst, 0, 0, 0);
+        }
+        long backlog = bucket.theoreticalArrival.get() - nanoClock.getAsLong();
+        return new AdmissionStats(showtimeId, enabled, ratePerSecond, burst,
+                backlog > 0 ? ceilDiv(backlog, intervalNanos) : 0,
+                bucket.admitted.sum(), bucket.rejected.sum());
+    }
+
+    private Bucket bucket(Long showtimeId, long now) {
+        Bucket bucket = buckets.get(showtimeId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= SWEEP_THRESHOLD) {
+            buckets.values().removeIf(idle -> idle.theoreticalArrival.get() - now < 0);
+        }
+        return buckets.computeIfAbsent(showtimeId, id -> new Bucket(now));
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static final class Bucket {
+        private final AtomicLong theoreticalArrival;
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private Bucket(long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+    }
+}
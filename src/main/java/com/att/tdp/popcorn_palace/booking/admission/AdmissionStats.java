@@ -0,0 +1,5 @@
+package com.att.tdp.popcorn_palace.booking.admission;
+
+// queueDepth is the number of admitted requests the showtime's rate has not drained yet
+public record AdmissionStats(Long showtimeId, boolean enabled, double ratePerSecond, int burst,
+                             long queueDepth, long admitted, long rejected) {}
@@ -0,0 +1,30 @@
+package com.att.tdp.popcorn_palace.booking.bulkimport;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/bookings")
+public class BookingImportController {
+
+    private final BookingImportService bookingImportService;
+
+    public BookingImportController(BookingImportService bookingImportService) {
+        this.bookingImportService = bookingImportService;
+    }
+
+    // The body is read straight from the request stream, never buffered as a whole
+    @PostMapping(value = "/import", consumes = {ImportFormat.NDJSON_VALUE, ImportFormat.CSV_VALUE})
+    public ResponseEntity<BookingImportResponse> importBookings(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(bookingImportService.importBookings(request.getInputStream(), ImportFormat.of(contentType)));
+    }
+}
@@ -0,0 +1,6 @@
+package com.att.tdp.popcorn_palace.booking.bulkimport;
+
+import java.util.List;
+
+// rejections lists the first rejected lines only, rejected counts all of them
+public record BookingImportResponse(long imported, long rejected, List<ImportRejection> rejections) {}
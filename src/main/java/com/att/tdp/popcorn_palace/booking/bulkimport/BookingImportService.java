@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.booking.bulkimport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookingImportService {
+    BookingImportResponse importBookings(InputStream body, ImportFormat format) throws IOException;
+}
@@ -0,0 +1,20 @@
+package com.att.tdp.popcorn_palace.booking.bulkimport;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    // One BookingRequest JSON object per line
+    NDJSON,
+    // showtimeId,seatNumber,userId per line, with an optional header line
+    CSV;
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    public static ImportFormat of(MediaType contentType) {
+        if (MediaType.parseMediaType(CSV_VALUE).isCompatibleWith(contentType)) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
@@ -0,0 +1,4 @@
+package com.att.tdp.popcorn_palace.booking.bulkimport;
+
+// line is 1-based, counting every line of the body
+public record ImportRejection(long line, String reason) {}
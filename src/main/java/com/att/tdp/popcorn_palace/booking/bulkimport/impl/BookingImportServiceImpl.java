@@ -0,0 +1,260 @@
+package com.att.tdp.popcorn_palace.booking.bulkimport.impl;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.bulkimport.BookingImportResponse;
+import com.att.tdp.popcorn_palace.booking.bulkimport.BookingImportService;
+import com.att.tdp.popcorn_palace.booking.bulkimport.ImportFormat;
+import com.att.tdp.popcorn_palace.booking.bulkimport.ImportRejection;
+import com.att.tdp.popcorn_palace.booking.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.booking.impl.BookingWriter;
+import com.att.tdp.popcorn_palace.booking.seat.SeatBitmap;
+import com.att.tdp.popcorn_palace.booking.seat.SeatInventory;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Partner box-office dumps: lines are parsed as they arrive and handled in chunks.
+// A chunk is checked against the showtimes table with one query and against the
+// seat bitmaps in memory, then written as one JDBC batch in one transaction, so
+// heap use depends on the chunk size and not on the size of the dump.
+@Service
+public class BookingImportServiceImpl implements BookingImportService {
+
+    private static final String CSV_HEADER = "showtimeId,seatNumber,userId";
+
+    private final BookingWriter bookingWriter;
+    private final SeatInventory seatInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedRejections;
+
+    public BookingImportServiceImpl(BookingWriter bookingWriter,
+                                    SeatInventory seatInventory,
+                                    PlatformTransactionManager transactionManager,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    @Value("${popcorn-palace.booking.import.chunk-size:1000}") int chunkSize,
+                                    @Value("${popcorn-palace.booking.import.max-reported-rejections:1000}") int maxReportedRejections) {
+        this.bookingWriter = bookingWriter;
+        this.seatInventory = seatInventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    @Override
+    public BookingImportResponse importBookings(InputStream body, ImportFormat format) throws IOException {
+        Report report = new Report(maxReportedRejections);
+        List<ImportLine> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String text;
+            long lineNumber = 0;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank() || (lineNumber == 1 && format == ImportFormat.CSV && isCsvHeader(text))) {
+                    continue;
+                }
+                try {
+                    chunk.add(new ImportLine(lineNumber, parse(text, format)));
+                } catch (IllegalArgumentException e) {
+                    report.reject(lineNumber, e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    write(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+        write(chunk, report);
+        return report.toResponse();
+    }
+
+    private BookingRequest parse(String text, ImportFormat format) {
+        BookingRequest request = format == ImportFormat.CSV ? parseCsv(text) : parseJson(text);
+        Set<ConstraintViolation<BookingRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return request;
+    }
+
+    private BookingRequest parseJson(String text) {
+        try {
+            return objectMapper.readValue(text, BookingRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+    }
+
+    private static BookingRequest parseCsv(String text) {
+        String[] fields = text.split(",", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Expected " + CSV_HEADER);
+        }
+        try {
+            return new BookingRequest(Long.parseLong(fields[0].trim()), Integer.parseInt(fields[1].trim()), fields[2].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Showtime ID and seat number must be numbers");
+        }
+    }
+
+    private static boolean isCsvHeader(String text) {
+        return text.replace(" ", "").equalsIgnoreCase(CSV_HEADER);
+    }
+
+    private void write(List<ImportLine> chunk, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<Long> existing = bookingWriter.findExistingShowtimeIds(
+                chunk.stream().map(line -> line.request().showtimeId()).distinct().toList());
+
+        // Seats are taken in memory first, which also catches the same seat twice in one dump
+        List<ImportLine> writable = new ArrayList<>(chunk.size());
+        for (ImportLine line : chunk) {
+            BookingRequest request = line.request();
+            if (!existing.contains(request.showtimeId())) {
+                report.reject(line.number(), "Showtime not found");
+                continue;
+            }
+            Optional<String> rejection = reserve(line);
+            if (rejection.isPresent()) {
+                report.reject(line.number(), rejection.get());
+            } else {
+                writable.add(line);
+            }
+        }
+        if (writable.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // A rolled back chunk gives its seats back
+                writable.forEach(line -> seatInventory.claim(line.seats(), List.of(line.request().seatNumber())));
+                List<Optional<String>> bookingIds = bookingWriter.insertAll(writable.stream().map(ImportLine::request).toList());
+                for (int i = 0; i < bookingIds.size(); i++) {
+                    if (bookingIds.get(i).isPresent()) {
+                        report.imported++;
+                    } else {
+                        // Booked in the database behind the bitmap, the bit stays taken
+                        report.reject(writable.get(i).number(), "Seat already booked");
+                    }
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A showtime was deleted since the check, fall back to one statement per line
+            writable.forEach(line -> writeAlone(line, report));
+        }
+    }
+
+    private Optional<String> reserve(ImportLine line) {
+        BookingRequest request = line.request();
+        try {
+            SeatBitmap seats = seatInventory.findBookable(request.showtimeId(), List.of(request.seatNumber()));
+            if (!seats.tryReserve(request.seatNumber())) {
+                return Optional.of("Seat already booked");
+            }
+            line.seats = seats;
+            return Optional.empty();
+        } catch (InvalidShowtimeIdNotFoundException e) {
+            return Optional.of("Showtime not found");
+        } catch (SeatAlreadyBookedException | IllegalArgumentException e) {
+            return Optional.of(e.getMessage());
+        }
+    }
+
+    private void writeAlone(ImportLine line, Report report) {
+        BookingRequest request = line.request();
+        if (!line.seats().tryReserve(request.seatNumber())) {
+            report.reject(line.number(), "Seat already booked");
+            return;
+        }
+        try {
+            if (bookingWriter.insert(request.showtimeId(), request.seatNumber(), request.userId()).isPresent()) {
+                report.imported++;
+            } else {
+                report.reject(line.number(), "Seat already booked");
+            }
+            // Taken in the database either way
+            line.seats().publishTaken(request.seatNumber());
+        } catch (InvalidShowtimeIdNotFoundException e) {
+            line.seats().release(request.seatNumber());
+            seatInventory.evict(request.showtimeId());
+            report.reject(line.number(), "Showtime not found");
+        }
+    }
+
+    private static final class ImportLine {
+        private final long number;
+        private final BookingRequest request;
+        private SeatBitmap seats;
+
+        private ImportLine(long number, BookingRequest request) {
+            this.number = number;
+            this.request = request;
+        }
+
+        private long number() {
+            return number;
+        }
+
+        private BookingRequest request() {
+            return request;
+        }
+
+        private SeatBitmap seats() {
+            return seats;
+        }
+    }
+
+    private static final class Report {
+        private final int maxReported;
+        private final List<ImportRejection> rejections = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        private Report(int maxReported) {
+            this.maxReported = maxReported;
+        }
+
+        private void reject(long line, String reason) {
+            rejected++;
+            if (rejections.size() < maxReported) {
+                rejections.add(new ImportRejection(line, reason));
+            }
+        }
+
+        private BookingImportResponse toResponse() {
+            // Chunks are checked after their lines are parsed, so rejections are not collected in line order
+            rejections.sort(Comparator.comparingLong(ImportRejection::line));
+            return new BookingImportResponse(imported, rejected, List.copyOf(rejections));
+        }
+    }
+}
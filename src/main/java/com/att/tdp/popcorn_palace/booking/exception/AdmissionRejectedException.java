@@ -0,0 +1,16 @@
+package com.att.tdp.popcorn_palace.booking.exception;
+
+import lombok.Getter;
+
+@Getter
+public class AdmissionRejectedException extends Exception {
+    private final long retryAfterSeconds;
+    private final long queuePosition;
+
+    public AdmissionRejectedException(Long showtimeId, long retryAfterSeconds, long queuePosition) {
+        super("Showtime " + showtimeId + " is receiving too many booking requests, retry in "
+                + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.queuePosition = queuePosition;
+    }
+}
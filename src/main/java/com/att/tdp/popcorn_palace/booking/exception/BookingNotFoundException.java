@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.booking.exception;
+
+public class BookingNotFoundException extends Exception {
+    public BookingNotFoundException(String bookingId) {
+        super("Booking " + bookingId + " not found");
+    }
+}
@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.booking.exception;
+
+public class HoldNotFoundException extends Exception {
+    public HoldNotFoundException(String holdId) {
+        super("Hold " + holdId + " not found or already expired");
+    }
+}
@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.booking.exception;
+
+public class IdempotencyCacheFullException extends Exception {
+    public IdempotencyCacheFullException(int maxEntries) {
+        super("All " + maxEntries + " remembered Idempotency-Keys belong to bookings that are still running, retry later");
+    }
+}
@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.booking.exception;
+
+public class IdempotencyKeyReusedException extends Exception {
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used for a different booking request");
+    }
+}
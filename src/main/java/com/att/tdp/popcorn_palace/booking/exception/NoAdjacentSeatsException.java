@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.booking.exception;
+
+public class NoAdjacentSeatsException extends SeatAlreadyBookedException {
+    public NoAdjacentSeatsException(Long showtimeId, int partySize) {
+        super("No " + partySize + " adjacent seats are left for showtime " + showtimeId);
+    }
+}
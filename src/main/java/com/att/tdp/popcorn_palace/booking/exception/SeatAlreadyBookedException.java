@@ -1,7 +1,17 @@
 package com.att.tdp.popcorn_palace.booking.exception;
 
+import java.util.Collection;
+
 public class SeatAlreadyBookedException extends Exception {
     public SeatAlreadyBookedException(Long showtimeId, Integer seatNumber) {
         super("Seat " + seatNumber + " is already booked for showtime " + showtimeId);
     }
+
+    public SeatAlreadyBookedException(Long showtimeId, Collection<Integer> seatNumbers) {
+        super("One of the seats " + seatNumbers + " is already booked for showtime " + showtimeId);
+    }
+
+    protected SeatAlreadyBookedException(String message) {
+        super(message);
+    }
 }
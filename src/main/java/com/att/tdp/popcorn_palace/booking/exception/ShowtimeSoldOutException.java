@@ -0,0 +1,12 @@
+package com.att.tdp.popcorn_palace.booking.exception;
+
+public class ShowtimeSoldOutException extends SeatAlreadyBookedException {
+    public ShowtimeSoldOutException(Long showtimeId) {
+        super("Showtime " + showtimeId + " is sold out");
+    }
+
+    // Fewer seats left than asked for at once
+    public ShowtimeSoldOutException(Long showtimeId, int requested, int available) {
+        super("Showtime " + showtimeId + " has only " + available + " seats left, " + requested + " requested");
+    }
+}
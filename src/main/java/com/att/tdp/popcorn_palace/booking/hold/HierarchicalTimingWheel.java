@@ -0,0 +1,195 @@
+package com.att.tdp.popcorn_palace.booking.hold;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Timer for large numbers of short lived deadlines. Each wheel level has a fixed
+// number of buckets; deadlines beyond the current level go to a coarser overflow
+// wheel and are moved down as the clock advances. Scheduling and cancelling are
+// O(1), and the driver thread only wakes up for buckets that actually hold tasks.
+public class HierarchicalTimingWheel implements AutoCloseable {
+
+    private final DelayQueue<Bucket> queue = new DelayQueue<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Wheel root;
+    private final Thread driver;
+    private volatile boolean running = true;
+
+    public HierarchicalTimingWheel(Duration tick, int wheelSize, String name) {
+        this.root = new Wheel(tick.toMillis(), wheelSize, now());
+        this.driver = Thread.ofPlatform().daemon().name(name).start(this::drive);
+    }
+
+    public Timeout schedule(Duration delay, Runnable action) {
+        Timeout timeout = new Timeout(now() + delay.toMillis(), action);
+        lock.readLock().lock();
+        try {
+            addOrRun(timeout);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        driver.interrupt();
+    }
+
+    private void addOrRun(Timeout timeout) {
+        if (!root.add(timeout) && !timeout.isCancelled()) {
+            try {
+                timeout.action.run();
+            } catch (RuntimeException e) {
+                // A failing action must not stop every other deadline from firing
+            }
+        }
+    }
+
+    private void drive() {
+        while (running) {
+            try {
+                Bucket bucket = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (bucket == null) {
+                    continue;
+                }
+                lock.writeLock().lock();
+                try {
+                    while (bucket != null) {
+                        root.advanceClock(bucket.expiration.get());
+                        bucket.flush(this::addOrRun);
+                        bucket = queue.poll();
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    public static final class Timeout {
+        private final long deadline;
+        private final Runnable action;
+        private volatile boolean cancelled;
+
+        private Timeout(long deadline, Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        // Cancelled timeouts stay in their bucket and are dropped when it is flushed
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final class Wheel {
+        private final long tickMillis;
+        private final int size;
+        private final long interval;
+        private final Bucket[] buckets;
+        private long currentTime;
+        private volatile Wheel overflow;
+
+        private Wheel(long tickMillis, int size, long startMillis) {
+            this.tickMillis = tickMillis;
+            this.size = size;
+            this.interval = tickMillis * size;
+            this.buckets = new Bucket[size];
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMillis - (startMillis % tickMillis);
+        }
+
+        // False when the deadline already passed and the task has to run now
+        private boolean add(Timeout timeout) {
+            if (timeout.isCancelled() || timeout.deadline < currentTime + tickMillis) {
+                return false;
+            }
+            if (timeout.deadline < currentTime + interval) {
+                long virtualId = timeout.deadline / tickMillis;
+                Bucket bucket = buckets[(int) (virtualId % size)];
+                bucket.add(timeout);
+                if (bucket.setExpiration(virtualId * tickMillis)) {
+                    queue.offer(bucket);
+                }
+                return true;
+            }
+            return overflow().add(timeout);
+        }
+
+        private void advanceClock(long timeMillis) {
+            if (timeMillis >= currentTime + tickMillis) {
+                currentTime = timeMillis - (timeMillis % tickMillis);
+                Wheel next = overflow;
+                if (next != null) {
+                    next.advanceClock(currentTime);
+                }
+            }
+        }
+
+        private Wheel overflow() {
+            if (overflow == null) {
+                synchronized (this) {
+                    if (overflow == null) {
+                        overflow = new Wheel(interval, size, currentTime);
+                    }
+                }
+            }
+            return overflow;
+        }
+    }
+
+    private static final class Bucket implements Delayed {
+        private final AtomicLong expiration = new AtomicLong(-1);
+        private final List<Timeout> timeouts = new ArrayList<>();
+
+        private synchronized void add(Timeout timeout) {
+            timeouts.add(timeout);
+        }
+
+        private boolean setExpiration(long expirationMillis) {
+            return expiration.getAndSet(expirationMillis) != expirationMillis;
+        }
+
+        private void flush(Consumer<Timeout> reinsert) {
+            List<Timeout> drained;
+            synchronized (this) {
+                drained = new ArrayList<>(timeouts);
+                timeouts.clear();
+                expiration.set(-1);
+            }
+            drained.forEach(reinsert);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(expiration.get() - now(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration.get(), ((Bucket) other).expiration.get());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.att.tdp.popcorn_palace.booking.hold;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.BookingResponse;
+import com.att.tdp.popcorn_palace.booking.admission.AdmissionGate;
+import com.att.tdp.popcorn_palace.booking.exception.AdmissionRejectedException;
+import com.att.tdp.popcorn_palace.booking.exception.HoldNotFoundException;
+import com.att.tdp.popcorn_palace.booking.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/bookings/holds")
+public class HoldController {
+
+    private final HoldService holdService;
+    private final AdmissionGate admissionGate;
+
+    public HoldController(HoldService holdService, AdmissionGate admissionGate) {
+        this.holdService = holdService;
+        this.admissionGate = admissionGate;
+    }
+
+    @PostMapping
+    public ResponseEntity<HoldResponse> createHold(@Valid @RequestBody BookingRequest request)
+            throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException, AdmissionRejectedException {
+        admissionGate.admit(request.showtimeId());
+        return ResponseEntity.ok(holdService.createHold(request));
+    }
+
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<BookingResponse> confirmHold(@PathVariable String holdId)
+            throws HoldNotFoundException, SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException {
+        return ResponseEntity.ok(holdService.confirmHold(holdId));
+    }
+
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdId) throws HoldNotFoundException {
+        holdService.releaseHold(holdId);
+        return ResponseEntity.ok().build();
+    }
+}
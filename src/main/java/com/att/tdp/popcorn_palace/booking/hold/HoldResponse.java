@@ -0,0 +1,5 @@
+package com.att.tdp.popcorn_palace.booking.hold;
+
+import java.time.Instant;
+
+public record HoldResponse(String holdId, Instant expiresAt) {}
@@ -0,0 +1,16 @@
+package com.att.tdp.popcorn_palace.booking.hold;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.BookingResponse;
+import com.att.tdp.popcorn_palace.booking.exception.HoldNotFoundException;
+import com.att.tdp.popcorn_palace.booking.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+
+public interface HoldService {
+    HoldResponse createHold(BookingRequest request) throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException;
+
+    BookingResponse confirmHold(String holdId)
+            throws HoldNotFoundException, SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException;
+
+    void releaseHold(String holdId) throws HoldNotFoundException;
+}
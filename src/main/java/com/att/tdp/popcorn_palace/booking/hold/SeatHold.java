@@ -0,0 +1,5 @@
+package com.att.tdp.popcorn_palace.booking.hold;
+
+import java.time.Instant;
+
+public record SeatHold(String holdId, Long showtimeId, Integer seatNumber, String userId, Instant expiresAt) {}
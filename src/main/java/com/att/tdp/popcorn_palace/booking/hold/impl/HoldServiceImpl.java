@@ -0,0 +1,163 @@
+package com.att.tdp.popcorn_palace.booking.hold.impl;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.BookingResponse;
+import com.att.tdp.popcorn_palace.booking.BookingService;
+import com.att.tdp.popcorn_palace.booking.exception.HoldNotFoundException;
+import com.att.tdp.popcorn_palace.booking.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.booking.hold.*;
+import com.att.tdp.popcorn_palace.booking.seat.HeldSeats;
+import com.att.tdp.popcorn_palace.booking.seat.SeatBitmap;
+import com.att.tdp.popcorn_palace.booking.seat.SeatInventory;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Holds only live in memory: they take the seat in SeatInventory so createBooking
+// rejects it, and nothing is written to the database until the hold is confirmed.
+// A seat bitmap that is evicted and loaded again asks for the held seats through HeldSeats.
+@Service
+public class HoldServiceImpl implements HoldService, HeldSeats {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final SeatInventory seatInventory;
+    private final BookingService bookingService;
+    private final Duration holdTtl;
+    private final HierarchicalTimingWheel expiryWheel;
+    private final ConcurrentHashMap<String, ActiveHold> holds = new ConcurrentHashMap<>();
+    // The same holds by showtime, so a reloaded bitmap does not scan every hold
+    private final ConcurrentHashMap<Long, Set<ActiveHold>> holdsByShowtime = new ConcurrentHashMap<>();
+
+    public HoldServiceImpl(SeatInventory seatInventory,
+                           BookingService bookingService,
+                           @Value("${popcorn-palace.booking.hold.ttl:PT10M}") Duration holdTtl,
+                           @Value("${popcorn-palace.booking.hold.tick:PT0.1S}") Duration tick) {
+        this.seatInventory = seatInventory;
+        this.bookingService = bookingService;
+        this.holdTtl = holdTtl;
+        this.expiryWheel = new HierarchicalTimingWheel(tick, WHEEL_SIZE, "seat-hold-expiry");
+    }
+
+    @Override
+    public HoldResponse createHold(BookingRequest request) throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException {
+        SeatBitmap seats = seatInventory.findBookable(request.showtimeId(), List.of(request.seatNumber()));
+
+        // Registered before the seat is taken, so a bitmap reloaded in between cannot miss it
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), request.showtimeId(),
+                request.seatNumber(), request.userId(), Instant.now().plus(holdTtl));
+        ActiveHold active = new ActiveHold(hold);
+        holds.put(hold.holdId(), active);
+        index(active);
+        if (!seats.tryReserve(request.seatNumber())) {
+            holds.remove(hold.holdId());
+            unindex(active);
+            throw new SeatAlreadyBookedException(request.showtimeId(), request.seatNumber());
+        }
+        seats.publishTaken(request.seatNumber());
+        active.expiry = expiryWheel.schedule(holdTtl, () -> expire(active));
+
+        return new HoldResponse(hold.holdId(), hold.expiresAt());
+    }
+
+    @Override
+    public BookingResponse confirmHold(String holdId)
+            throws HoldNotFoundException, SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException {
+        ActiveHold active = take(holdId);
+        SeatHold hold = active.hold;
+        // The wheel fires on tick boundaries, so a hold can be past its deadline but not yet expired
+        if (hold.expiresAt().isBefore(Instant.now())) {
+            free(hold);
+            throw new HoldNotFoundException(holdId);
+        }
+
+        try {
+            return bookingService.bookReservedSeat(
+                    new BookingRequest(hold.showtimeId(), hold.seatNumber(), hold.userId()));
+        } catch (InvalidShowtimeIdNotFoundException e) {
+            free(hold);
+            throw e;
+        }
+    }
+
+    @Override
+    public void releaseHold(String holdId) throws HoldNotFoundException {
+        free(take(holdId).hold);
+    }
+
+    @Override
+    public Collection<Integer> heldSeats(Long showtimeId) {
+        Set<ActiveHold> held = holdsByShowtime.get(showtimeId);
+        if (held == null) {
+            return List.of();
+        }
+        return held.stream()
+                .map(active -> active.hold.seatNumber())
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiryWheel.close();
+    }
+
+    private ActiveHold take(String holdId) throws HoldNotFoundException {
+        ActiveHold active = holds.remove(holdId);
+        if (active == null) {
+            throw new HoldNotFoundException(holdId);
+        }
+        unindex(active);
+        HierarchicalTimingWheel.Timeout expiry = active.expiry;
+        if (expiry != null) {
+            expiry.cancel();
+        }
+        return active;
+    }
+
+    private void expire(ActiveHold active) {
+        // Confirm and release remove the hold first, so only one of them frees the seat
+        if (holds.remove(active.hold.holdId(), active)) {
+            unindex(active);
+            free(active.hold);
+        }
+    }
+
+    private void index(ActiveHold active) {
+        holdsByShowtime.compute(active.hold.showtimeId(), (showtimeId, held) -> {
+            Set<ActiveHold> updated = held != null ? held : ConcurrentHashMap.newKeySet();
+            updated.add(active);
+            return updated;
+        });
+    }
+
+    // Showtimes without holds left are dropped from the index
+    private void unindex(ActiveHold active) {
+        holdsByShowtime.computeIfPresent(active.hold.showtimeId(), (showtimeId, held) -> {
+            held.remove(active);
+            return held.isEmpty() ? null : held;
+        });
+    }
+
+    // Frees the seat in the bitmap cached now, which may have been reloaded since the hold was taken
+    private void free(SeatHold hold) {
+        seatInventory.releaseHeld(hold.showtimeId(), hold.seatNumber());
+    }
+
+    private static class ActiveHold {
+        private final SeatHold hold;
+        private volatile HierarchicalTimingWheel.Timeout expiry;
+
+        private ActiveHold(SeatHold hold) {
+            this.hold = hold;
+        }
+    }
+}
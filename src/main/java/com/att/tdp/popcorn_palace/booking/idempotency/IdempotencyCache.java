@@ -0,0 +1,145 @@
+package com.att.tdp.popcorn_palace.booking.idempotency;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.BookingResponse;
+import com.att.tdp.popcorn_palace.booking.exception.IdempotencyCacheFullException;
+import com.att.tdp.popcorn_palace.booking.exception.IdempotencyKeyReusedException;
+import com.att.tdp.popcorn_palace.booking.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// First outcome of every Idempotency-Key, success or booking error, replayed to
+// retries of the same request. A retry that arrives while the first attempt is
+// still running waits for it instead of booking again. Entries are kept in
+// insertion order, so the oldest ones are the first to expire or be evicted;
+// an entry whose first attempt is still running is never evicted.
+@Component
+public class IdempotencyCache {
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Duration replayTimeout;
+
+    public IdempotencyCache(@Value("${popcorn-palace.booking.idempotency.ttl:PT1H}") Duration ttl,
+                            @Value("${popcorn-palace.booking.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${popcorn-palace.booking.idempotency.replay-timeout:PT15S}") Duration replayTimeout) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.replayTimeout = replayTimeout;
+    }
+
+    public BookingResponse execute(String key, BookingRequest request, BookingCall call)
+            throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException,
+            IdempotencyKeyReusedException, IdempotencyCacheFullException {
+        Entry mine = new Entry(request, new CompletableFuture<>(), System.nanoTime() + ttl.toNanos());
+        Entry first;
+        synchronized (entries) {
+            evictExpired();
+            first = entries.get(key);
+            if (first == null) {
+                if (entries.size() >= maxEntries && !evictOldestCompleted()) {
+                    throw new IdempotencyCacheFullException(maxEntries);
+                }
+                entries.put(key, mine);
+            }
+        }
+
+        if (first != null) {
+            if (!first.request().equals(request)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            return replay(first);
+        }
+
+        try {
+            BookingResponse response = call.book();
+            mine.result().complete(response);
+            return response;
+        } catch (SeatAlreadyBookedException | InvalidShowtimeIdNotFoundException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            // Not an answer about the booking itself, a retry should try again
+            synchronized (entries) {
+                entries.remove(key, mine);
+            }
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Outcome of a key whose first attempt has finished, replayed without running anything;
+    // empty when the key is new or its first attempt is still running
+    public Optional<BookingResponse> findCompleted(String key, BookingRequest request)
+            throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException, IdempotencyKeyReusedException {
+        Entry first;
+        synchronized (entries) {
+            evictExpired();
+            first = entries.get(key);
+        }
+        if (first == null || !first.result().isDone()) {
+            return Optional.empty();
+        }
+        if (!first.request().equals(request)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        return Optional.of(replay(first));
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (oldest.hasNext() && oldest.next().expiresAt() - now <= 0) {
+            oldest.remove();
+        }
+    }
+
+    // Evicting a running attempt would let its retry book a second time
+    private boolean evictOldestCompleted() {
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (oldest.hasNext()) {
+            if (oldest.next().result().isDone()) {
+                oldest.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BookingResponse replay(Entry first) throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException {
+        try {
+            return first.result().get(replayTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the first booking attempt", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("First booking attempt did not finish within " + replayTimeout, e);
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case SeatAlreadyBookedException seatTaken -> throw seatTaken;
+                case InvalidShowtimeIdNotFoundException notFound -> throw notFound;
+                case RuntimeException runtime -> throw runtime;
+                default -> throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface BookingCall {
+        BookingResponse book() throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException;
+    }
+
+    private record Entry(BookingRequest request, CompletableFuture<BookingResponse> result, long expiresAt) {}
+}
@@ -1,44 +1,259 @@
 package com.att.tdp.popcorn_palace.booking.impl;
 
 import com.att.tdp.popcorn_palace.booking.*;
+import com.att.tdp.popcorn_palace.booking.exception.BookingNotFoundException;
+import com.att.tdp.popcorn_palace.booking.exception.NoAdjacentSeatsException;
 import com.att.tdp.popcorn_palace.booking.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.booking.exception.ShowtimeSoldOutException;
+import com.att.tdp.popcorn_palace.booking.outbox.BookingEventType;
+import com.att.tdp.popcorn_palace.booking.outbox.OutboxRecord;
+import com.att.tdp.popcorn_palace.booking.outbox.OutboxWriter;
+import com.att.tdp.popcorn_palace.booking.seat.SeatAllocator;
+import com.att.tdp.popcorn_palace.booking.seat.SeatBitmap;
+import com.att.tdp.popcorn_palace.booking.seat.SeatClaim;
+import com.att.tdp.popcorn_palace.booking.seat.SeatInventory;
 import com.att.tdp.popcorn_palace.showTime.Showtime;
 import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Service
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_HISTORY_PAGE = 100;
+    private static final int MAX_ALLOCATION_ATTEMPTS = 8;
+
     private final BookingRepository bookingRepository;
     private final ShowtimeRepository showtimeRepository;
+    private final SeatInventory seatInventory;
+    private final BookingSink bookingSink;
+    private final BookingWriter bookingWriter;
+    private final OutboxWriter outboxWriter;
+    private final Duration writeTimeout;
 
     public BookingServiceImpl(BookingRepository bookingRepository,
-                              ShowtimeRepository showtimeRepository) {
+                              ShowtimeRepository showtimeRepository,
+                              SeatInventory seatInventory,
+                              BookingSink bookingSink,
+                              BookingWriter bookingWriter,
+                              OutboxWriter outboxWriter,
+                              @Value("${popcorn-palace.booking.write-timeout:PT10S}") Duration writeTimeout) {
         this.bookingRepository = bookingRepository;
         this.showtimeRepository = showtimeRepository;
+        this.seatInventory = seatInventory;
+        this.bookingSink = bookingSink;
+        this.bookingWriter = bookingWriter;
+        this.outboxWriter = outboxWriter;
+        this.writeTimeout = writeTimeout;
     }
 
-    @Transactional
     public BookingResponse createBooking(BookingRequest request) throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException {
-        // Verify showtime exists
-        Showtime showtime = showtimeRepository.findById(request.showtimeId())
-                .orElseThrow(InvalidShowtimeIdNotFoundException::new);
+        // Verify showtime exists, the seat is in the theater and it is not sold out
+        SeatBitmap seats = seatInventory.findBookable(request.showtimeId(), List.of(request.seatNumber()));
 
-        // Check seat availability
-        if (bookingRepository.existsByShowtimeIdAndSeatNumber(
-                request.showtimeId(), request.seatNumber())) {
+        // Check seat availability, only the thread that flips the bit goes on to the database
+        if (!seats.tryReserve(request.seatNumber())) {
             throw new SeatAlreadyBookedException(request.showtimeId(), request.seatNumber());
         }
+        return persist(seats, request);
+    }
+
+    @Transactional(readOnly = true)
+    public BookingHistoryPage getUserBookings(String userId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_PAGE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_HISTORY_PAGE);
+        }
+        UUID user = UUID.fromString(userId);
+
+        // One extra row tells whether there is a next page, without a count query
+        Limit fetch = Limit.of(limit + 1);
+        List<BookingHistoryItem> rows;
+        if (cursor == null) {
+            rows = bookingRepository.findHistoryFirstPage(user, fetch);
+        } else {
+            BookingCursor after = BookingCursor.decode(cursor);
+            rows = bookingRepository.findHistoryPageAfter(user, after.createdAt(), after.id(), fetch);
+        }
+
+        if (rows.size() <= limit) {
+            return new BookingHistoryPage(rows, null);
+        }
+        List<BookingHistoryItem> page = rows.subList(0, limit);
+        return new BookingHistoryPage(List.copyOf(page), BookingCursor.after(page.get(limit - 1)).encode());
+    }
+
+    @Transactional(rollbackFor = SeatAlreadyBookedException.class)
+    public MultiSeatBookingResponse createBookings(MultiSeatBookingRequest request)
+            throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException {
+        List<Integer> seatNumbers = request.seatNumbers();
+        if (new HashSet<>(seatNumbers).size() != seatNumbers.size()) {
+            throw new IllegalArgumentException("Seat numbers must be unique");
+        }
+
+        // Verify showtime exists and has room, loaded once for all seats
+        SeatBitmap seats = seatInventory.findBookable(request.showtimeId(), seatNumbers);
+
+        // All seats or none: give back what was taken as soon as one seat is unavailable
+        List<Integer> reserved = new ArrayList<>(seatNumbers.size());
+        for (Integer seatNumber : seatNumbers) {
+            if (!seats.tryReserve(seatNumber)) {
+                reserved.forEach(seats::release);
+                throw new SeatAlreadyBookedException(request.showtimeId(), seatNumber);
+            }
+            reserved.add(seatNumber);
+        }
+        List<Booking> savedBookings = insertReserved(request.showtimeId(), seatNumbers, request.userId(), seats);
+        return new MultiSeatBookingResponse(savedBookings.stream().map(booking -> booking.getId().toString()).toList());
+    }
+
+    @Transactional(rollbackFor = SeatAlreadyBookedException.class)
+    public BestAvailableResponse bookBestAvailable(BestAvailableRequest request)
+            throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException {
+        SeatBitmap seats = seatInventory.find(request.showtimeId())
+                .orElseThrow(InvalidShowtimeIdNotFoundException::new);
+        if (!seats.hasLayout()) {
+            throw new IllegalArgumentException("Theater of showtime " + request.showtimeId() + " has no seat layout");
+        }
+        if (seats.available() == 0) {
+            throw new ShowtimeSoldOutException(request.showtimeId());
+        }
+
+        // Another allocation can take a seat of the chosen block first, then the next best block is tried
+        List<Integer> block = null;
+        for (int attempt = 0; attempt < MAX_ALLOCATION_ATTEMPTS && block == null; attempt++) {
+            List<Integer> candidate = SeatAllocator.bestBlock(seats, request.partySize())
+                    .orElseThrow(() -> new NoAdjacentSeatsException(request.showtimeId(), request.partySize()));
+            List<Integer> reserved = new ArrayList<>(candidate.size());
+            for (Integer seatNumber : candidate) {
+                if (!seats.tryReserve(seatNumber)) {
+                    break;
+                }
+                reserved.add(seatNumber);
+            }
+            if (reserved.size() == candidate.size()) {
+                block = candidate;
+            } else {
+                reserved.forEach(seats::release);
+            }
+        }
+        if (block == null) {
+            throw new NoAdjacentSeatsException(request.showtimeId(), request.partySize());
+        }
+
+        List<Booking> savedBookings = insertReserved(request.showtimeId(), block, request.userId(), seats);
+        int row = (block.get(0) - 1) / seats.seatsPerRow() + 1;
+        return new BestAvailableResponse(request.showtimeId(), row, block,
+                savedBookings.stream().map(booking -> booking.getId().toString()).toList());
+    }
+
+    // Writes seats the caller already took in the bitmap, inside the caller's transaction
+    private List<Booking> insertReserved(Long showtimeId, List<Integer> seatNumbers, String userId, SeatBitmap seats)
+            throws SeatAlreadyBookedException {
+        // The database cannot tell which seat lost a race, so a rollback frees all of them
+        seatInventory.claim(seats, seatNumbers);
+
+        Showtime showtime = showtimeRepository.getReferenceById(showtimeId);
+        List<Booking> bookings = new ArrayList<>(seatNumbers.size());
+        for (Integer seatNumber : seatNumbers) {
+            Booking booking = new Booking();
+            booking.setShowtime(showtime);
+            booking.setSeatNumber(seatNumber);
+            booking.setUserId(UUID.fromString(userId));
+            bookings.add(booking);
+        }
+
+        // Written as a single JDBC batch (hibernate.jdbc.batch_size)
+        List<Booking> savedBookings;
+        try {
+            savedBookings = bookingRepository.saveAllAndFlush(bookings);
+        } catch (DataIntegrityViolationException e) {
+            throw new SeatAlreadyBookedException(showtimeId, seatNumbers);
+        }
+        outboxWriter.append(savedBookings.stream()
+                .map(booking -> new OutboxRecord(BookingEventType.CREATED, booking.getId(), showtimeId,
+                        booking.getSeatNumber(), booking.getUserId(), booking.getCreatedAt()))
+                .toList());
+        return savedBookings;
+    }
+
+    public CancelledBooking cancelBooking(String bookingId) throws BookingNotFoundException {
+        CancelledBooking cancelled = bookingWriter.delete(UUID.fromString(bookingId))
+                .orElseThrow(() -> new BookingNotFoundException(bookingId));
+        // The seat is for sale again as soon as the delete is visible
+        seatInventory.release(cancelled.showtimeId(), List.of(cancelled.seatNumber()));
+        return cancelled;
+    }
+
+    public CancelSeatsResponse cancelSeats(CancelSeatsRequest request) {
+        List<Integer> seatNumbers = request.seatNumbers().stream().distinct().toList();
+        List<Integer> cancelled = bookingWriter.deleteSeats(request.showtimeId(), seatNumbers);
+        seatInventory.release(request.showtimeId(), cancelled);
+        return new CancelSeatsResponse(request.showtimeId(), cancelled.stream().sorted().toList());
+    }
 
-        // Create and save booking
-        Booking booking = new Booking();
-        booking.setShowtime(showtime);
-        booking.setSeatNumber(request.seatNumber());
-        booking.setUserId(request.userId());
+    public BookingResponse bookReservedSeat(BookingRequest request) throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException {
+        SeatBitmap seats = seatInventory.find(request.showtimeId())
+                .orElseThrow(InvalidShowtimeIdNotFoundException::new);
+        return persist(seats, request);
+    }
 
-        Booking savedBooking = bookingRepository.save(booking);
+    // INSERT ... ON CONFLICT DO NOTHING against a showtime reference, alone or as part of a batch
+    private BookingResponse persist(SeatBitmap seats, BookingRequest request)
+            throws SeatAlreadyBookedException, InvalidShowtimeIdNotFoundException {
+        SeatClaim claim = seatInventory.claim(seats, List.of(request.seatNumber()));
+        Optional<String> bookingId;
+        try {
+            bookingId = await(bookingSink.write(request));
+        } catch (InvalidShowtimeIdNotFoundException e) {
+            // The showtime was deleted behind the cached seat state
+            claim.release();
+            seatInventory.evict(request.showtimeId());
+            throw e;
+        } catch (RuntimeException e) {
+            claim.release();
+            throw e;
+        }
 
-        return new BookingResponse(savedBooking.getId());
+        if (bookingId.isEmpty()) {
+            // unique_seat_per_showtime has the final word when another writer got there first
+            claim.keep();
+            throw new SeatAlreadyBookedException(request.showtimeId(), request.seatNumber());
+        }
+        claim.written();
+        return new BookingResponse(bookingId.get());
+    }
+
+    private Optional<String> await(CompletableFuture<Optional<String>> write) throws InvalidShowtimeIdNotFoundException {
+        try {
+            return write.get(writeTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the booking to be written", e);
+        } catch (TimeoutException e) {
+            // unique_seat_per_showtime still rejects the seat if the write lands after all
+            throw new IllegalStateException("Booking was not written within " + writeTimeout, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof InvalidShowtimeIdNotFoundException notFound) {
+                throw notFound;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
     }
 }
@@ -0,0 +1,15 @@
+package com.att.tdp.popcorn_palace.booking.impl;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// Where a booking whose seat was already taken in SeatInventory gets written.
+// Selected with popcorn-palace.booking.write-mode.
+public interface BookingSink {
+
+    // Completes with the booking id, empty when the database already had the seat,
+    // or exceptionally with InvalidShowtimeIdNotFoundException
+    CompletableFuture<Optional<String>> write(BookingRequest request);
+}
@@ -0,0 +1,197 @@
+package com.att.tdp.popcorn_palace.booking.impl;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.CancelledBooking;
+import com.att.tdp.popcorn_palace.booking.UuidV7;
+import com.att.tdp.popcorn_palace.booking.outbox.BookingEventType;
+import com.att.tdp.popcorn_palace.booking.outbox.OutboxRecord;
+import com.att.tdp.popcorn_palace.booking.outbox.OutboxWriter;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// Single statement booking insert: the unique_seat_per_showtime conflict is resolved
+// by the database itself instead of a separate existence check, and the showtime is
+// only referenced through its foreign key. Every write appends its booking_outbox
+// rows in the same transaction.
+@Repository
+public class BookingWriter {
+
+    private static final String INSERT_RETURNING = "INSERT INTO bookings (id, showtime_id, seat_number, user_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (showtime_id, seat_number) DO NOTHING RETURNING id";
+
+    // H2 (tests) has no RETURNING clause and no conflict target, the update count tells the same story
+    private static final String INSERT_IGNORE = "INSERT INTO bookings (id, showtime_id, seat_number, user_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String DELETE_RETURNING = "DELETE FROM bookings WHERE id = ? " +
+            "RETURNING id, showtime_id, seat_number, user_id";
+
+    // H2 reads the deleted rows back through a data change delta table instead of RETURNING
+    private static final String DELETE_OLD_TABLE = "SELECT id, showtime_id, seat_number, user_id FROM OLD TABLE " +
+            "(DELETE FROM bookings WHERE id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxWriter outboxWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean returningSupported;
+
+    public BookingWriter(JdbcTemplate jdbcTemplate,
+                         OutboxWriter outboxWriter,
+                         PlatformTransactionManager transactionManager) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxWriter = outboxWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName);
+        this.returningSupported = "PostgreSQL".equals(product);
+    }
+
+    // Empty when the seat is already booked
+    public Optional<String> insert(Long showtimeId, Integer seatNumber, String userId)
+            throws InvalidShowtimeIdNotFoundException {
+        UUID bookingId = UuidV7.next();
+        UUID user = UUID.fromString(userId);
+        Instant now = Instant.now();
+        OffsetDateTime createdAt = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+        try {
+            // Joins the caller's transaction when there is one
+            boolean inserted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                boolean written;
+                if (returningSupported) {
+                    written = !jdbcTemplate.queryForList(INSERT_RETURNING, UUID.class,
+                            bookingId, showtimeId, seatNumber, user, createdAt).isEmpty();
+                } else {
+                    written = jdbcTemplate.update(INSERT_IGNORE,
+                            bookingId, showtimeId, seatNumber, user, createdAt) == 1;
+                }
+                if (written) {
+                    outboxWriter.append(List.of(
+                            new OutboxRecord(BookingEventType.CREATED, bookingId, showtimeId, seatNumber, user, now)));
+                }
+                return written;
+            }));
+            return inserted ? Optional.of(bookingId.toString()) : Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            // Seat conflicts never raise, so this is the showtime foreign key
+            throw new InvalidShowtimeIdNotFoundException();
+        }
+    }
+
+    // One JDBC batch, run inside the caller's transaction. Entry i is empty when
+    // requests[i] lost its seat; a missing showtime fails the whole batch.
+    public List<Optional<String>> insertAll(List<BookingRequest> requests) {
+        List<UUID> bookingIds = new ArrayList<>(requests.size());
+        List<Object[]> rows = new ArrayList<>(requests.size());
+        Instant now = Instant.now();
+        OffsetDateTime createdAt = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+        for (BookingRequest request : requests) {
+            UUID bookingId = UuidV7.next();
+            bookingIds.add(bookingId);
+            rows.add(new Object[]{bookingId, request.showtimeId(), request.seatNumber(),
+                    UUID.fromString(request.userId()), createdAt});
+        }
+
+        // Update counts are exact (0 or 1) unless the driver rewrites the batch, then
+        // they are SUCCESS_NO_INFO and the rows that made it are looked up by id
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_IGNORE, rows);
+        Set<UUID> unknown = new HashSet<>();
+        for (int i = 0; i < inserted.length; i++) {
+            if (inserted[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(bookingIds.get(i));
+            }
+        }
+        Set<UUID> written = findExistingBookingIds(unknown);
+        List<Optional<String>> results = new ArrayList<>(requests.size());
+        List<OutboxRecord> created = new ArrayList<>(requests.size());
+        for (int i = 0; i < inserted.length; i++) {
+            boolean rowInserted = inserted[i] == Statement.SUCCESS_NO_INFO
+                    ? written.contains(bookingIds.get(i))
+                    : inserted[i] == 1;
+            if (!rowInserted) {
+                results.add(Optional.empty());
+            } else {
+                BookingRequest request = requests.get(i);
+                results.add(Optional.of(bookingIds.get(i).toString()));
+                created.add(new OutboxRecord(BookingEventType.CREATED, bookingIds.get(i), request.showtimeId(),
+                        request.seatNumber(), UUID.fromString(request.userId()), now));
+            }
+        }
+        outboxWriter.append(created);
+        return results;
+    }
+
+    private Set<UUID> findExistingBookingIds(Collection<UUID> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(bookingIds.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM bookings WHERE id IN (" + placeholders + ")",
+                UUID.class, bookingIds.toArray()));
+    }
+
+    public Set<Long> findExistingShowtimeIds(Collection<Long> showtimeIds) {
+        if (showtimeIds.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(showtimeIds.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM showtime WHERE id IN (" + placeholders + ")",
+                Long.class, showtimeIds.toArray()));
+    }
+
+    // One statement: the row is gone and its seat known, empty when there was no such booking
+    public Optional<CancelledBooking> delete(UUID bookingId) {
+        return transactionTemplate.execute(status -> {
+            List<OutboxRecord> deleted = jdbcTemplate.query(returningSupported ? DELETE_RETURNING : DELETE_OLD_TABLE,
+                    cancelled(Instant.now()), bookingId);
+            outboxWriter.append(deleted);
+            return deleted.stream().findFirst()
+                    .map(row -> new CancelledBooking(bookingId.toString(), row.showtimeId(), row.seatNumber()));
+        });
+    }
+
+    // One set based statement for any number of seats of a showtime, returns the seats that were booked
+    public List<Integer> deleteSeats(Long showtimeId, Collection<Integer> seatNumbers) {
+        String placeholders = String.join(",", Collections.nCopies(seatNumbers.size(), "?"));
+        String delete = "DELETE FROM bookings WHERE showtime_id = ? AND seat_number IN (" + placeholders + ")";
+        String sql = returningSupported
+                ? delete + " RETURNING id, showtime_id, seat_number, user_id"
+                : "SELECT id, showtime_id, seat_number, user_id FROM OLD TABLE (" + delete + ")";
+        Object[] args = new Object[seatNumbers.size() + 1];
+        args[0] = showtimeId;
+        int i = 1;
+        for (Integer seatNumber : seatNumbers) {
+            args[i++] = seatNumber;
+        }
+        return transactionTemplate.execute(status -> {
+            List<OutboxRecord> deleted = jdbcTemplate.query(sql, cancelled(Instant.now()), args);
+            outboxWriter.append(deleted);
+            return deleted.stream().map(OutboxRecord::seatNumber).toList();
+        });
+    }
+
+    private static RowMapper<OutboxRecord> cancelled(Instant now) {
+        return (rs, row) -> new OutboxRecord(BookingEventType.CANCELLED, rs.getObject("id", UUID.class),
+                rs.getLong("showtime_id"), rs.getInt("seat_number"), rs.getObject("user_id", UUID.class), now);
+    }
+}
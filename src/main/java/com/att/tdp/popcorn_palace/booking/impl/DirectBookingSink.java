@@ -0,0 +1,31 @@
+package com.att.tdp.popcorn_palace.booking.impl;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// Every booking is its own statement and commit, on the calling thread
+@Component
+@ConditionalOnProperty(name = "popcorn-palace.booking.write-mode", havingValue = "direct", matchIfMissing = true)
+public class DirectBookingSink implements BookingSink {
+
+    private final BookingWriter bookingWriter;
+
+    public DirectBookingSink(BookingWriter bookingWriter) {
+        this.bookingWriter = bookingWriter;
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> write(BookingRequest request) {
+        try {
+            return CompletableFuture.completedFuture(
+                    bookingWriter.insert(request.showtimeId(), request.seatNumber(), request.userId()));
+        } catch (InvalidShowtimeIdNotFoundException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
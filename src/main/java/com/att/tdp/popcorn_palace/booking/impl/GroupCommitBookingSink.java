@@ -0,0 +1,164 @@
+package com.att.tdp.popcorn_palace.booking.impl;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Flash sale mode: concurrent bookings are queued and a single writer thread
+// coalesces them into micro-batches (max-batch rows or max-delay after the first
+// one, whichever comes first), each written as one JDBC batch in one transaction.
+// Callers wait on their own future, so throughput follows the batch size instead
+// of the commit latency.
+@Component
+@ConditionalOnProperty(name = "popcorn-palace.booking.write-mode", havingValue = "group-commit")
+public class GroupCommitBookingSink implements BookingSink {
+
+    private final BookingWriter bookingWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final LinkedBlockingQueue<PendingBooking> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    // Writers check running and enqueue under the read lock, shutdown flips it under the
+    // write lock, so nothing can be queued after the writer thread's final drain
+    private final ReadWriteLock accepting = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    public GroupCommitBookingSink(BookingWriter bookingWriter,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${popcorn-palace.booking.group-commit.max-batch:64}") int maxBatch,
+                                  @Value("${popcorn-palace.booking.group-commit.max-delay:PT0.002S}") Duration maxDelay) {
+        this.bookingWriter = bookingWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.writer = Thread.ofPlatform().daemon().name("booking-group-commit").start(this::drain);
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> write(BookingRequest request) {
+        accepting.readLock().lock();
+        try {
+            if (!running) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Booking writer is shut down"));
+            }
+            PendingBooking pending = new PendingBooking(request, new CompletableFuture<>());
+            queue.add(pending);
+            return pending.result();
+        } finally {
+            accepting.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Not interrupted, a batch in flight finishes its transaction
+        accepting.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            accepting.writeLock().unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        List<PendingBooking> late = new ArrayList<>();
+        queue.drainTo(late);
+        late.forEach(pending -> pending.result().completeExceptionally(
+                new IllegalStateException("Booking writer is shut down")));
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                PendingBooking first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingBooking> batch = new ArrayList<>(maxBatch);
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch) {
+                    PendingBooking next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // Whatever was accepted before shutdown is still written
+        List<PendingBooking> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += maxBatch) {
+            flush(rest.subList(from, Math.min(from + maxBatch, rest.size())));
+        }
+    }
+
+    private void flush(List<PendingBooking> batch) {
+        // A missing showtime would fail the whole batch on its foreign key, so those are answered up front
+        Set<Long> existing;
+        try {
+            existing = bookingWriter.findExistingShowtimeIds(
+                    batch.stream().map(pending -> pending.request().showtimeId()).distinct().toList());
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        }
+        List<PendingBooking> writable = new ArrayList<>(batch.size());
+        for (PendingBooking pending : batch) {
+            if (existing.contains(pending.request().showtimeId())) {
+                writable.add(pending);
+            } else {
+                pending.result().completeExceptionally(new InvalidShowtimeIdNotFoundException());
+            }
+        }
+        if (writable.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Optional<String>> bookingIds = transactionTemplate.execute(status ->
+                    bookingWriter.insertAll(writable.stream().map(PendingBooking::request).toList()));
+            for (int i = 0; i < writable.size(); i++) {
+                writable.get(i).result().complete(bookingIds.get(i));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // A showtime was deleted since the check, fall back to one statement per booking
+            writable.forEach(this::writeAlone);
+        } catch (RuntimeException e) {
+            writable.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private void writeAlone(PendingBooking pending) {
+        BookingRequest request = pending.request();
+        try {
+            pending.result().complete(bookingWriter.insert(request.showtimeId(), request.seatNumber(), request.userId()));
+        } catch (InvalidShowtimeIdNotFoundException | RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingBooking(BookingRequest request, CompletableFuture<Optional<String>> result) {}
+}
@@ -0,0 +1,119 @@
+package com.att.tdp.popcorn_palace.booking.impl;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Single writer per showtime: each booking is routed by showtimeId to one of a
+// fixed number of lanes, and every lane is drained by its own virtual thread.
+// Bookings of one showtime never race each other on its index pages and unique
+// constraint, while different showtimes are written in parallel.
+@Component
+@ConditionalOnProperty(name = "popcorn-palace.booking.write-mode", havingValue = "partitioned")
+public class PartitionedBookingSink implements BookingSink {
+
+    private final BookingWriter bookingWriter;
+    private final Lane[] lanes;
+    // Writers check running and enqueue under the read lock, shutdown flips it under the
+    // write lock, so nothing can be queued after a lane's final drain
+    private final ReadWriteLock accepting = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    public PartitionedBookingSink(BookingWriter bookingWriter,
+                                  @Value("${popcorn-palace.booking.partitioned.lanes:0}") int lanes) {
+        this.bookingWriter = bookingWriter;
+        int count = lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+        this.lanes = new Lane[count];
+        for (int i = 0; i < count; i++) {
+            this.lanes[i] = new Lane("booking-lane-" + i);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> write(BookingRequest request) {
+        accepting.readLock().lock();
+        try {
+            if (!running) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Booking writer is shut down"));
+            }
+            PendingBooking pending = new PendingBooking(request, new CompletableFuture<>());
+            laneOf(request.showtimeId()).queue.add(pending);
+            return pending.result();
+        } finally {
+            accepting.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Not interrupted, a lane finishes the booking it is writing
+        accepting.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            accepting.writeLock().unlock();
+        }
+        for (Lane lane : lanes) {
+            lane.thread.join(TimeUnit.SECONDS.toMillis(5));
+            List<PendingBooking> late = new ArrayList<>();
+            lane.queue.drainTo(late);
+            late.forEach(pending -> pending.result().completeExceptionally(
+                    new IllegalStateException("Booking writer is shut down")));
+        }
+    }
+
+    private Lane laneOf(Long showtimeId) {
+        return lanes[Math.floorMod(Long.hashCode(showtimeId), lanes.length)];
+    }
+
+    private void write(PendingBooking pending) {
+        BookingRequest request = pending.request();
+        try {
+            pending.result().complete(bookingWriter.insert(request.showtimeId(), request.seatNumber(), request.userId()));
+        } catch (InvalidShowtimeIdNotFoundException | RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private final class Lane {
+        private final LinkedBlockingQueue<PendingBooking> queue = new LinkedBlockingQueue<>();
+        private final Thread thread;
+
+        private Lane(String name) {
+            this.thread = Thread.ofVirtual().name(name).start(this::drain);
+        }
+
+        private void drain() {
+            try {
+                while (running) {
+                    PendingBooking pending = queue.poll(200, TimeUnit.MILLISECONDS);
+                    if (pending != null) {
+                        write(pending);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Whatever was accepted before shutdown is still written
+            PendingBooking pending;
+            while ((pending = queue.poll()) != null) {
+                write(pending);
+            }
+        }
+    }
+
+    private record PendingBooking(BookingRequest request, CompletableFuture<Optional<String>> result) {}
+}
@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.booking.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookingCreated(long sequence, UUID bookingId, Long showtimeId, Integer seatNumber,
+                             UUID userId, Instant occurredAt) implements BookingEvent {}
@@ -0,0 +1,19 @@
+package com.att.tdp.popcorn_palace.booking.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// sequence is the outbox position: increasing, and the same for every redelivery of an event
+public sealed interface BookingEvent permits BookingCreated, BookingCancelled {
+    long sequence();
+
+    UUID bookingId();
+
+    Long showtimeId();
+
+    Integer seatNumber();
+
+    UUID userId();
+
+    Instant occurredAt();
+}
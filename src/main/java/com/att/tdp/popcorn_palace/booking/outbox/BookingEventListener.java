@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.booking.outbox;
+
+// Implemented by beans that build something from bookings. Events arrive in outbox
+// order on the relay thread, at least once: an event is delivered again to every
+// listener when one of them throws, so listeners have to tolerate duplicates.
+public interface BookingEventListener {
+    void onEvent(BookingEvent event);
+}
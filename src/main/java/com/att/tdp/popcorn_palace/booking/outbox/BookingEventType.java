@@ -0,0 +1,6 @@
+package com.att.tdp.popcorn_palace.booking.outbox;
+
+public enum BookingEventType {
+    CREATED,
+    CANCELLED
+}
@@ -0,0 +1,34 @@
+package com.att.tdp.popcorn_palace.booking.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+@Entity
+@Table(name = "booking_outbox_cursor")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxCursor {
+    @Id
+    private String name;
+
+    // Id of the last outbox row every listener has taken
+    @Column(nullable = false)
+    private Long position;
+
+    // Ids below the position that were skipped while not visible, and when to stop looking for them.
+    // Saved with the position, so a restart neither loses nor repeats them.
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "booking_outbox_gap", joinColumns = @JoinColumn(name = "cursor_name"))
+    @MapKeyColumn(name = "outbox_id")
+    @Column(name = "give_up_at", nullable = false)
+    private Map<Long, Instant> pendingGaps = new HashMap<>();
+}
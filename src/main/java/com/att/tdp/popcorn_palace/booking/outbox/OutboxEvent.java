@@ -0,0 +1,47 @@
+package com.att.tdp.popcorn_palace.booking.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "booking_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+    // Relay order, rows are only ever appended
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BookingEventType type;
+
+    @Column(nullable = false)
+    private UUID bookingId;
+
+    @Column(nullable = false)
+    private Long showtimeId;
+
+    @Column(nullable = false)
+    private Integer seatNumber;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    public BookingEvent toEvent() {
+        return switch (type) {
+            case CREATED -> new BookingCreated(id, bookingId, showtimeId, seatNumber, userId, occurredAt);
+            case CANCELLED -> new BookingCancelled(id, bookingId, showtimeId, seatNumber, userId, occurredAt);
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.att.tdp.popcorn_palace.booking.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Primary key range scan
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<OutboxEvent> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= :position AND e.occurredAt < :before")
+    int deleteRelayed(@Param("position") Long position, @Param("before") Instant before);
+}
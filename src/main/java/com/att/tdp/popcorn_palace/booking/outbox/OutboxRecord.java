@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.booking.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// A booking change about to be appended to the outbox, before it has a sequence
+public record OutboxRecord(BookingEventType type, UUID bookingId, Long showtimeId, Integer seatNumber,
+                           UUID userId, Instant occurredAt) {}
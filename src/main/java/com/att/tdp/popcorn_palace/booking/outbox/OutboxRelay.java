@@ -0,0 +1,197 @@
+package com.att.tdp.popcorn_palace.booking.outbox;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Tails booking_outbox in id order and hands every event to the BookingEventListener
+// beans. The cursor in booking_outbox_cursor only moves past an event once every
+// listener took it, so delivery is at least once, also across restarts.
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxCursorRepository outboxCursorRepository;
+    private final ObjectProvider<BookingEventListener> listeners;
+    private final boolean enabled;
+    private final String cursorName;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration maxPollInterval;
+    private final Duration gapTimeout;
+    private final Duration gapRecheckWindow;
+    private final Duration retention;
+    private volatile boolean running = true;
+    private Thread relay;
+    private Instant lastPrune = Instant.EPOCH;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxCursorRepository outboxCursorRepository,
+                       ObjectProvider<BookingEventListener> listeners,
+                       @Value("${popcorn-palace.booking.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${popcorn-palace.booking.outbox.relay.cursor:booking-events}") String cursorName,
+                       @Value("${popcorn-palace.booking.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${popcorn-palace.booking.outbox.relay.poll-interval:PT0.2S}") Duration pollInterval,
+                       @Value("${popcorn-palace.booking.outbox.relay.max-poll-interval:PT2S}") Duration maxPollInterval,
+                       @Value("${popcorn-palace.booking.outbox.relay.gap-timeout:PT5S}") Duration gapTimeout,
+                       @Value("${popcorn-palace.booking.outbox.relay.gap-recheck-window:PT5M}") Duration gapRecheckWindow,
+                       @Value("${popcorn-palace.booking.outbox.retention:PT24H}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxCursorRepository = outboxCursorRepository;
+        this.listeners = listeners;
+        this.enabled = enabled;
+        this.cursorName = cursorName;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.maxPollInterval = maxPollInterval;
+        this.gapTimeout = gapTimeout;
+        this.gapRecheckWindow = gapRecheckWindow;
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            relay = Thread.ofPlatform().daemon().name("booking-outbox-relay").start(this::run);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Not interrupted, a batch in flight finishes and stores its cursor
+        running = false;
+        if (relay != null) {
+            relay.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    // Delivers the next batch and returns how many events went out
+    public synchronized int relayBatch() {
+        OutboxCursor cursor = outboxCursorRepository.findById(cursorName)
+                .orElseGet(() -> new OutboxCursor(cursorName, 0L, new HashMap<>()));
+        long position = cursor.getPosition();
+        TreeMap<Long, Instant> gaps = new TreeMap<>(cursor.getPendingGaps());
+        List<BookingEventListener> targets = listeners.orderedStream().toList();
+        Instant now = Instant.now();
+
+        int count = relayLateRows(targets, gaps, now);
+        List<OutboxEvent> rows = outboxEventRepository.findByIdGreaterThanOrderByIdAsc(position, Limit.of(batchSize));
+        Instant settled = now.minus(gapTimeout);
+        long delivered = position;
+        for (OutboxEvent row : rows) {
+            // A missing id belongs to a transaction that has not committed yet, or rolled back.
+            // It is waited for until the rows behind it are older than the gap timeout, and
+            // looked for again on every batch for the gap recheck window after that.
+            if (row.getId() != delivered + 1) {
+                if (row.getOccurredAt().isAfter(settled)) {
+                    break;
+                }
+                for (long missing = delivered + 1; missing < row.getId(); missing++) {
+                    gaps.put(missing, now.plus(gapRecheckWindow));
+                }
+            }
+            if (!publish(targets, row.toEvent())) {
+                break;
+            }
+            delivered = row.getId();
+            count++;
+        }
+
+        // Position and gaps are one row and its collection, saved in one transaction
+        if (delivered != position || !gaps.keySet().equals(cursor.getPendingGaps().keySet())) {
+            outboxCursorRepository.save(new OutboxCursor(cursorName, delivered, gaps));
+        }
+        if (rows.isEmpty()) {
+            prune(delivered);
+        }
+        return count;
+    }
+
+    // Rows that committed after the relay moved past their id go out late, out of order.
+    // Gaps not filled within the recheck window were rolled back and are forgotten.
+    private int relayLateRows(List<BookingEventListener> targets, Map<Long, Instant> gaps, Instant now) {
+        gaps.values().removeIf(giveUpAt -> giveUpAt.isBefore(now));
+        if (gaps.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        for (OutboxEvent row : outboxEventRepository.findByIdInOrderByIdAsc(gaps.keySet())) {
+            if (!publish(targets, row.toEvent())) {
+                break;
+            }
+            gaps.remove(row.getId());
+            count++;
+        }
+        return count;
+    }
+
+    private boolean publish(List<BookingEventListener> targets, BookingEvent event) {
+        for (BookingEventListener listener : targets) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("Booking event {} failed in {}, it will be delivered again",
+                        event.sequence(), listener.getClass().getName(), e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Relayed rows are kept for the retention period, then removed while the relay is idle
+    private void prune(long position) {
+        Instant now = Instant.now();
+        if (lastPrune.plus(PRUNE_INTERVAL).isBefore(now)) {
+            lastPrune = now;
+            outboxEventRepository.deleteRelayed(position, now.minus(retention));
+        }
+    }
+
+    // Polls every poll-interval while there is traffic; an idle (or failing) relay waits
+    // twice as long after every empty poll, up to max-poll-interval
+    private void run() {
+        Duration idleWait = pollInterval;
+        while (running) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (RuntimeException e) {
+                log.warn("Booking outbox relay failed, retrying", e);
+                relayed = 0;
+            }
+            if (relayed == batchSize) {
+                idleWait = pollInterval;
+                continue;
+            }
+            Duration wait = relayed > 0 ? pollInterval : idleWait;
+            idleWait = relayed > 0 ? pollInterval : min(idleWait.multipliedBy(2), maxPollInterval);
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,37 @@
+package com.att.tdp.popcorn_palace.booking.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// Appends to booking_outbox on the caller's connection, so the rows commit or roll
+// back together with the booking change they describe
+@Repository
+public class OutboxWriter {
+
+    private static final String APPEND = "INSERT INTO booking_outbox " +
+            "(type, booking_id, showtime_id, seat_number, user_id, occurred_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // One JDBC batch for any number of records
+    public void append(List<OutboxRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(records.size());
+        for (OutboxRecord record : records) {
+            rows.add(new Object[]{record.type().name(), record.bookingId(), record.showtimeId(), record.seatNumber(),
+                    record.userId(), OffsetDateTime.ofInstant(record.occurredAt(), ZoneOffset.UTC)});
+        }
+        jdbcTemplate.batchUpdate(APPEND, rows);
+    }
+}
@@ -0,0 +1,9 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+import java.util.Collection;
+
+// Seats taken by holds, which only live in memory. A bitmap that is loaded again,
+// after an eviction, takes them over so held seats do not come back for sale.
+public interface HeldSeats {
+    Collection<Integer> heldSeats(Long showtimeId);
+}
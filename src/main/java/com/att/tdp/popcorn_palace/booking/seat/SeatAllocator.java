@@ -0,0 +1,70 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+// Best available block of adjacent seats in one row. Each row's taken seats are copied
+// out of the bitmap word by word, and every free run long enough for the party is
+// scored by how far its middle is from the middle of the row and its row from the
+// middle row; the lowest score wins, the front row on ties.
+public final class SeatAllocator {
+
+    private SeatAllocator() {
+    }
+
+    // Empty when no row has partySize free seats next to each other
+    public static Optional<List<Integer>> bestBlock(SeatBitmap bitmap, int partySize) {
+        int seatsPerRow = bitmap.seatsPerRow();
+        int capacity = bitmap.capacity();
+        int rows = (capacity + seatsPerRow - 1) / seatsPerRow;
+        double middleRow = (rows - 1) / 2.0;
+
+        double bestScore = Double.MAX_VALUE;
+        int bestFirstSeat = -1;
+        for (int row = 0; row < rows; row++) {
+            int firstSeat = row * seatsPerRow + 1;
+            int width = Math.min(seatsPerRow, capacity - firstSeat + 1);
+            if (width < partySize) {
+                continue;
+            }
+            double rowDistance = rows > 1 ? Math.abs(row - middleRow) / rows : 0;
+            if (rowDistance >= bestScore) {
+                continue;
+            }
+            // Left edge of the block that would sit right in the middle of this row
+            double middleStart = (width - partySize) / 2.0;
+
+            BitSet taken = bitmap.taken(firstSeat, firstSeat + width);
+            int runStart = taken.nextClearBit(0);
+            while (runStart <= width - partySize) {
+                int runEnd = taken.nextSetBit(runStart);
+                if (runEnd < 0) {
+                    runEnd = width;
+                }
+                if (runEnd - runStart >= partySize) {
+                    int start = (int) Math.max(runStart, Math.min(Math.round(middleStart), runEnd - partySize));
+                    double score = rowDistance + Math.abs(start - middleStart) / width;
+                    if (score < bestScore) {
+                        bestScore = score;
+                        bestFirstSeat = firstSeat + start;
+                    }
+                }
+                if (runEnd >= width) {
+                    break;
+                }
+                runStart = taken.nextClearBit(runEnd);
+            }
+        }
+
+        if (bestFirstSeat < 0) {
+            return Optional.empty();
+        }
+        List<Integer> block = new ArrayList<>(partySize);
+        for (int i = 0; i < partySize; i++) {
+            block.add(bestFirstSeat + i);
+        }
+        return Optional.of(block);
+    }
+}
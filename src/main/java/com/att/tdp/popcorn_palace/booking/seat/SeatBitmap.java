@@ -0,0 +1,199 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free seat state for a single showtime, one bit per seat number.
+// Bits live in fixed size pages of long words that are created on first use,
+// so a seat is taken or released with a single CAS on its word.
+public class SeatBitmap {
+
+    // Showtimes in a theater without a registered capacity
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private static final int WORDS_PER_PAGE = 64;
+    private static final int SEATS_PER_PAGE = WORDS_PER_PAGE * Long.SIZE;
+
+    // Seeded from the clock so ETags built from it do not repeat across restarts
+    private static final AtomicLong GENERATIONS = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final ConcurrentHashMap<Integer, AtomicLongArray> pages = new ConcurrentHashMap<>();
+    private final AtomicInteger bookedCount = new AtomicInteger();
+    private final AtomicLong version = new AtomicLong();
+    private final long generation = GENERATIONS.incrementAndGet();
+    private final int capacity;
+    private final int seatsPerRow;
+    private final ChangeListener listener;
+
+    public SeatBitmap() {
+        this(UNBOUNDED);
+    }
+
+    public SeatBitmap(int capacity) {
+        this(capacity, 0, ChangeListener.NONE);
+    }
+
+    // seatsPerRow is 0 when the theater has no row layout
+    public SeatBitmap(int capacity, int seatsPerRow, ChangeListener listener) {
+        this.capacity = capacity;
+        this.seatsPerRow = seatsPerRow;
+        this.listener = listener;
+    }
+
+    public boolean tryReserve(int seatNumber) {
+        AtomicLongArray page = pages.computeIfAbsent(pageIndex(seatNumber),
+                index -> new AtomicLongArray(WORDS_PER_PAGE));
+        int word = wordIndex(seatNumber);
+        long mask = mask(seatNumber);
+        long current;
+        do {
+            current = page.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(word, current, current | mask));
+        bookedCount.incrementAndGet();
+        version.incrementAndGet();
+        return true;
+    }
+
+    // A reserved seat is only pushed as taken once it is settled: its booking committed or its hold was taken
+    public void publishTaken(int seatNumber) {
+        listener.onChange(seatNumber, true);
+    }
+
+    public boolean release(int seatNumber) {
+        AtomicLongArray page = pages.get(pageIndex(seatNumber));
+        if (page == null) {
+            return false;
+        }
+        int word = wordIndex(seatNumber);
+        long mask = mask(seatNumber);
+        long current;
+        do {
+            current = page.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(word, current, current & ~mask));
+        bookedCount.decrementAndGet();
+        version.incrementAndGet();
+        listener.onChange(seatNumber, false);
+        return true;
+    }
+
+    public boolean isTaken(int seatNumber) {
+        AtomicLongArray page = pages.get(pageIndex(seatNumber));
+        return page != null && (page.get(wordIndex(seatNumber)) & mask(seatNumber)) != 0;
+    }
+
+    public int bookedCount() {
+        return bookedCount.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isBounded() {
+        return capacity != UNBOUNDED;
+    }
+
+    public int seatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public boolean hasLayout() {
+        return isBounded() && seatsPerRow > 0;
+    }
+
+    public boolean hasSeat(int seatNumber) {
+        return seatNumber <= capacity;
+    }
+
+    // Seats taken above a capacity that was lowered later never make this negative
+    public int available() {
+        return Math.max(capacity - bookedCount.get(), 0);
+    }
+
+    // Bit i is set when seat from + i is taken, for seats from (inclusive) to to (exclusive).
+    // Copied a word at a time, seats on pages that were never touched are all free.
+    public BitSet taken(int from, int to) {
+        BitSet taken = new BitSet(to - from);
+        int seat = from;
+        while (seat < to) {
+            AtomicLongArray page = pages.get(pageIndex(seat));
+            if (page == null) {
+                seat = Math.min((seat / SEATS_PER_PAGE + 1) * SEATS_PER_PAGE, to);
+                continue;
+            }
+            int wordEnd = Math.min((seat / Long.SIZE + 1) * Long.SIZE, to);
+            long word = page.get(wordIndex(seat)) >>> (seat % Long.SIZE);
+            while (word != 0) {
+                int next = seat + Long.numberOfTrailingZeros(word);
+                if (next >= wordEnd) {
+                    break;
+                }
+                taken.set(next - from);
+                word &= word - 1;
+            }
+            seat = wordEnd;
+        }
+        return taken;
+    }
+
+    // Changes whenever a seat is taken or released, and differs between bitmaps
+    public String tag() {
+        return Long.toHexString(generation) + "." + version.get();
+    }
+
+    // Bit i of the returned little endian bytes is seat i. Copies are retried
+    // while writers are active so the bits always match the returned tag.
+    public Snapshot snapshot() {
+        while (true) {
+            String tag = tag();
+            int booked = bookedCount.get();
+            int lastPage = pages.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1);
+            long[] words = new long[(lastPage + 1) * WORDS_PER_PAGE];
+            pages.forEach((index, page) -> {
+                // A page added after lastPage was read also moves the tag, so this copy is retried
+                if (index <= lastPage) {
+                    for (int i = 0; i < WORDS_PER_PAGE; i++) {
+                        words[index * WORDS_PER_PAGE + i] = page.get(i);
+                    }
+                }
+            });
+            if (tag.equals(tag())) {
+                return new Snapshot(tag, booked, BitSet.valueOf(words).toByteArray());
+            }
+        }
+    }
+
+    public record Snapshot(String tag, int bookedCount, byte[] seats) {}
+
+    // Seats taken are reported through publishTaken; seats freed right after the bit flips,
+    // on that thread, since a snapshot may have shown the reservation that is being undone
+    public interface ChangeListener {
+        ChangeListener NONE = (seatNumber, taken) -> { };
+
+        void onChange(int seatNumber, boolean taken);
+    }
+
+    private static int pageIndex(int seatNumber) {
+        if (seatNumber < 0) {
+            throw new IllegalArgumentException("Seat number must not be negative");
+        }
+        return seatNumber / SEATS_PER_PAGE;
+    }
+
+    private static int wordIndex(int seatNumber) {
+        return (seatNumber % SEATS_PER_PAGE) / Long.SIZE;
+    }
+
+    private static long mask(int seatNumber) {
+        return 1L << (seatNumber % Long.SIZE);
+    }
+}
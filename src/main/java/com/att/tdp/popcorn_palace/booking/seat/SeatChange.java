@@ -0,0 +1,4 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+// One seat taken (booked or held) or freed, as pushed on the seat stream
+public record SeatChange(Integer seatNumber, boolean taken) {}
@@ -0,0 +1,40 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Seats taken in a bitmap on behalf of one write. The claim is settled exactly
+// once, so a late rollback can never free a seat somebody else took since.
+public class SeatClaim {
+
+    private final SeatBitmap bitmap;
+    private final Collection<Integer> seatNumbers;
+    private final boolean transactional;
+    private final AtomicBoolean settled = new AtomicBoolean();
+
+    SeatClaim(SeatBitmap bitmap, Collection<Integer> seatNumbers, boolean transactional) {
+        this.bitmap = bitmap;
+        this.seatNumbers = seatNumbers;
+        this.transactional = transactional;
+    }
+
+    // The bookings were written: kept right away, or once the surrounding transaction commits
+    public void written() {
+        if (!transactional) {
+            keep();
+        }
+    }
+
+    // The seats are taken in the database, whatever happens to this write; now they are shown as taken
+    public void keep() {
+        if (settled.compareAndSet(false, true)) {
+            seatNumbers.forEach(bitmap::publishTaken);
+        }
+    }
+
+    public void release() {
+        if (settled.compareAndSet(false, true)) {
+            seatNumbers.forEach(bitmap::release);
+        }
+    }
+}
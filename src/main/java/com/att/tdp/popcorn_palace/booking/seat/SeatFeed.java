@@ -0,0 +1,190 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// Fan-out of one showtime's seat changes to all of its stream subscribers. Publishing
+// only takes the next sequence number and stores the change in a ring of recent changes;
+// the feed's own virtual thread hands every subscriber what it has not seen yet, so a
+// booking never waits on subscribers. A reconnecting client resumes from its last event
+// id instead of a new snapshot. A subscriber whose buffer is full is dropped rather than
+// slowing everybody down.
+public class SeatFeed {
+
+    // Seeded from the clock so event ids do not repeat across feeds and restarts
+    private static final AtomicLong FEEDS = new AtomicLong(System.currentTimeMillis() * 1000);
+    // A publisher took a sequence number and is about to store its change
+    private static final long STORE_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final String name = Long.toHexString(FEEDS.incrementAndGet());
+    private final AtomicReferenceArray<Published> recent;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int buffer;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Thread fanOut;
+    private volatile boolean closed;
+
+    public SeatFeed(int replay, int buffer) {
+        this.recent = new AtomicReferenceArray<>(replay);
+        this.buffer = buffer;
+        this.fanOut = Thread.ofVirtual().name("seat-feed-" + name).start(this::fanOut);
+    }
+
+    public void publish(int seatNumber, boolean taken) {
+        long next = sequence.incrementAndGet();
+        recent.set(slot(next), new Published(next,
+                new SeatStreamEvent(id(next), "seat", new SeatChange(seatNumber, taken))));
+        LockSupport.unpark(fanOut);
+    }
+
+    // Replays what came after lastEventId when it is still in the ring, otherwise starts with a
+    // snapshot. The snapshot is taken without holding anything; it already shows every change up to
+    // the sequence read before it, and changes after that are delivered on top of it. Null when the
+    // feed was closed in the meantime.
+    public Subscriber subscribe(String lastEventId, Supplier<SeatMapResponse> snapshot) {
+        long at = sequence.get();
+        long from = resumeFrom(lastEventId, at);
+        Subscriber subscriber;
+        if (from < 0 || at - from > buffer) {
+            subscriber = new Subscriber(buffer, at);
+            subscriber.offer(new SeatStreamEvent(id(at), "snapshot", snapshot.get()));
+        } else {
+            subscriber = new Subscriber(buffer, from);
+        }
+        return register(subscriber) ? subscriber : null;
+    }
+
+    public synchronized void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.drop();
+    }
+
+    public boolean isIdle() {
+        return subscribers.isEmpty();
+    }
+
+    // Closed only when nobody subscribed since the last one left
+    public synchronized boolean closeIfIdle() {
+        if (!subscribers.isEmpty()) {
+            return false;
+        }
+        close();
+        return true;
+    }
+
+    // Everybody reconnects and gets a snapshot from the next feed
+    public synchronized void close() {
+        closed = true;
+        subscribers.forEach(Subscriber::drop);
+        subscribers.clear();
+        LockSupport.unpark(fanOut);
+    }
+
+    private synchronized boolean register(Subscriber subscriber) {
+        if (closed) {
+            return false;
+        }
+        subscribers.add(subscriber);
+        LockSupport.unpark(fanOut);
+        return true;
+    }
+
+    private void fanOut() {
+        while (!closed) {
+            long published = sequence.get();
+            boolean stored = true;
+            for (Subscriber subscriber : subscribers) {
+                stored &= catchUp(subscriber, published);
+            }
+            if (!stored) {
+                LockSupport.parkNanos(this, STORE_WAIT_NANOS);
+            } else if (sequence.get() == published) {
+                // Woken by the next publish, subscribe or close
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    // Offers the subscriber every change after the last one it got, up to published.
+    // False when the next change is not stored yet.
+    private boolean catchUp(Subscriber subscriber, long published) {
+        for (long next = subscriber.delivered + 1; next <= published; next++) {
+            Published change = recent.get(slot(next));
+            if (change == null || change.sequence() < next) {
+                return false;
+            }
+            // Overwritten: the subscriber fell a whole ring behind
+            if (change.sequence() > next || !subscriber.offer(change.event())) {
+                subscribers.remove(subscriber);
+                subscriber.drop();
+                return true;
+            }
+            subscriber.delivered = next;
+        }
+        return true;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % recent.length());
+    }
+
+    private String id(long sequence) {
+        return name + "." + sequence;
+    }
+
+    // -1 when the id is from another feed or too old for the ring
+    private long resumeFrom(String lastEventId, long at) {
+        if (lastEventId == null || !lastEventId.startsWith(name + ".")) {
+            return -1;
+        }
+        long from;
+        try {
+            from = Long.parseLong(lastEventId.substring(name.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        return from >= 0 && from <= at && at - from <= recent.length() ? from : -1;
+    }
+
+    private record Published(long sequence, SeatStreamEvent event) {}
+
+    public static class Subscriber {
+        private final ArrayBlockingQueue<SeatStreamEvent> events;
+        private volatile boolean dropped;
+        // Sequence of the last change offered, only touched by the feed's thread once registered
+        private long delivered;
+
+        private Subscriber(int buffer, long delivered) {
+            this.events = new ArrayBlockingQueue<>(buffer);
+            this.delivered = delivered;
+        }
+
+        // Null when nothing arrived in time
+        public SeatStreamEvent next(long timeout, TimeUnit unit) throws InterruptedException {
+            return events.poll(timeout, unit);
+        }
+
+        public boolean isDropped() {
+            return dropped;
+        }
+
+        private boolean offer(SeatStreamEvent event) {
+            if (dropped || !events.offer(event)) {
+                drop();
+                return false;
+            }
+            return true;
+        }
+
+        private void drop() {
+            dropped = true;
+            events.clear();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Live seat streams: one SeatFeed per showtime that has subscribers, fed with seat changes
+// once they are settled, and one virtual thread per connection writing its events out.
+// Showtimes nobody watches cost a single map lookup per seat change.
+@Component
+public class SeatFeeds {
+
+    private final ConcurrentHashMap<Long, SeatFeed> feeds = new ConcurrentHashMap<>();
+    private final int replay;
+    private final int buffer;
+    private final Duration timeout;
+
+    public SeatFeeds(@Value("${popcorn-palace.seat-stream.replay:1024}") int replay,
+                     @Value("${popcorn-palace.seat-stream.buffer:256}") int buffer,
+                     @Value("${popcorn-palace.seat-stream.timeout:PT30M}") Duration timeout) {
+        this.replay = replay;
+        this.buffer = buffer;
+        this.timeout = timeout;
+    }
+
+    public void publish(Long showtimeId, int seatNumber, boolean taken) {
+        SeatFeed feed = feeds.get(showtimeId);
+        if (feed != null) {
+            feed.publish(seatNumber, taken);
+        }
+    }
+
+    public SseEmitter subscribe(Long showtimeId, String lastEventId, Supplier<SeatMapResponse> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        SeatFeed feed;
+        SeatFeed.Subscriber subscriber;
+        // The snapshot is built outside the map; a feed closed as idle in the meantime is replaced
+        do {
+            feed = feeds.computeIfAbsent(showtimeId, id -> new SeatFeed(replay, buffer));
+            subscriber = feed.subscribe(lastEventId, snapshot);
+            if (subscriber == null) {
+                feeds.remove(showtimeId, feed);
+            }
+        } while (subscriber == null);
+
+        SeatFeed joined = feed;
+        SeatFeed.Subscriber joinedAs = subscriber;
+        Runnable leave = () -> leave(showtimeId, joined, joinedAs);
+        emitter.onCompletion(leave);
+        emitter.onTimeout(leave);
+        emitter.onError(error -> leave.run());
+        Thread.ofVirtual().name("seat-stream-" + showtimeId).start(() -> pump(joinedAs, emitter));
+        return emitter;
+    }
+
+    // The showtime's seat state was reloaded, its subscribers reconnect to a fresh snapshot
+    public void close(Long showtimeId) {
+        SeatFeed feed = feeds.remove(showtimeId);
+        if (feed != null) {
+            feed.close();
+        }
+    }
+
+    private void leave(Long showtimeId, SeatFeed feed, SeatFeed.Subscriber subscriber) {
+        feed.unsubscribe(subscriber);
+        if (feed.closeIfIdle()) {
+            feeds.remove(showtimeId, feed);
+        }
+    }
+
+    private static void pump(SeatFeed.Subscriber subscriber, SseEmitter emitter) {
+        try {
+            while (!subscriber.isDropped()) {
+                SeatStreamEvent event = subscriber.next(1, TimeUnit.SECONDS);
+                if (event != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(event.id())
+                            .name(event.name())
+                            .data(event.data(), MediaType.APPLICATION_JSON));
+                }
+            }
+            // Too slow or closed: the client reconnects with its last event id
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // The connection is gone, the container completes the emitter
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+import com.att.tdp.popcorn_palace.booking.BookedSeat;
+import com.att.tdp.popcorn_palace.booking.BookingRepository;
+import com.att.tdp.popcorn_palace.booking.exception.ShowtimeSoldOutException;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeSeating;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import com.att.tdp.popcorn_palace.theater.Theater;
+import com.att.tdp.popcorn_palace.theater.TheaterRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// In-memory seat state of every showtime that has been touched since startup and
+// has not ended yet. The bookings table (and its unique_seat_per_showtime constraint)
+// stays the source of truth; a bitmap only ever rejects seats that are known to be taken.
+@Component
+public class SeatInventory {
+
+    private final ConcurrentHashMap<Long, SeatBitmap> bitmaps = new ConcurrentHashMap<>();
+    // End time of every cached showtime, the bitmap is dropped once it has passed
+    private final ConcurrentHashMap<Long, Instant> endTimes = new ConcurrentHashMap<>();
+    private final AtomicReference<Instant> lastSweep = new AtomicReference<>(Instant.EPOCH);
+    private final BookingRepository bookingRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final TheaterRepository theaterRepository;
+    private final SeatFeeds seatFeeds;
+    private final ObjectProvider<HeldSeats> heldSeats;
+    private final Duration sweepInterval;
+
+    public SeatInventory(BookingRepository bookingRepository,
+                         ShowtimeRepository showtimeRepository,
+                         TheaterRepository theaterRepository,
+                         SeatFeeds seatFeeds,
+                         ObjectProvider<HeldSeats> heldSeats,
+                         @Value("${popcorn-palace.booking.seat-inventory.sweep-interval:PT1M}") Duration sweepInterval) {
+        this.bookingRepository = bookingRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.theaterRepository = theaterRepository;
+        this.seatFeeds = seatFeeds;
+        this.heldSeats = heldSeats;
+        this.sweepInterval = sweepInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<String, Theater> theaters = theaterRepository.findAll().stream()
+                .collect(Collectors.toMap(Theater::getName, Function.identity()));
+        try (Stream<BookedSeat> seats = bookingRepository.streamSeatsOfShowtimesEndingAfter(Instant.now())) {
+            seats.forEach(seat -> {
+                bitmaps.computeIfAbsent(seat.showtimeId(), id -> newBitmap(id, theaters.get(seat.theater())))
+                        .tryReserve(seat.seatNumber());
+                endTimes.put(seat.showtimeId(), seat.endTime());
+            });
+        }
+    }
+
+    // Empty when the showtime does not exist
+    public Optional<SeatBitmap> find(Long showtimeId) {
+        evictEnded();
+        SeatBitmap bitmap = bitmaps.get(showtimeId);
+        if (bitmap != null) {
+            return Optional.of(bitmap);
+        }
+        Optional<ShowtimeSeating> seating = showtimeRepository.findSeatingById(showtimeId);
+        if (seating.isEmpty()) {
+            return Optional.empty();
+        }
+        SeatBitmap loaded = newBitmap(showtimeId, theaterRepository.findByName(seating.get().theater()).orElse(null));
+        bookingRepository.findSeatNumbersByShowtimeId(showtimeId).forEach(loaded::tryReserve);
+        // Seats held before an eviction stay taken
+        heldSeats.ifAvailable(held -> held.heldSeats(showtimeId).forEach(loaded::tryReserve));
+        SeatBitmap existing = bitmaps.putIfAbsent(showtimeId, loaded);
+        endTimes.put(showtimeId, seating.get().endTime());
+        return Optional.of(existing != null ? existing : loaded);
+    }
+
+    // Seats outside the theater and showtimes without enough free seats are turned
+    // away here, before any bit is touched; this is all a request costs once sold out
+    public SeatBitmap findBookable(Long showtimeId, Collection<Integer> seatNumbers)
+            throws InvalidShowtimeIdNotFoundException, ShowtimeSoldOutException {
+        SeatBitmap bitmap = find(showtimeId).orElseThrow(InvalidShowtimeIdNotFoundException::new);
+        for (Integer seatNumber : seatNumbers) {
+            if (!bitmap.hasSeat(seatNumber)) {
+                throw new IllegalArgumentException("Seat " + seatNumber + " does not exist, showtime "
+                        + showtimeId + " has " + bitmap.capacity() + " seats");
+            }
+        }
+        int available = bitmap.available();
+        if (available == 0) {
+            throw new ShowtimeSoldOutException(showtimeId);
+        }
+        if (available < seatNumbers.size()) {
+            throw new ShowtimeSoldOutException(showtimeId, seatNumbers.size(), available);
+        }
+        return bitmap;
+    }
+
+    // Frees cancelled seats in the cached bitmap, once the delete is committed. A bitmap
+    // that is not cached will read the freed seats from the database when loaded.
+    public void release(Long showtimeId, Collection<Integer> seatNumbers) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseNow(showtimeId, seatNumbers);
+                }
+            });
+        } else {
+            releaseNow(showtimeId, seatNumbers);
+        }
+    }
+
+    // Frees a seat that was only ever taken in memory, such as a hold, right away
+    public void releaseHeld(Long showtimeId, Integer seatNumber) {
+        releaseNow(showtimeId, List.of(seatNumber));
+    }
+
+    private void releaseNow(Long showtimeId, Collection<Integer> seatNumbers) {
+        SeatBitmap bitmap = bitmaps.get(showtimeId);
+        if (bitmap != null) {
+            seatNumbers.forEach(bitmap::release);
+        }
+    }
+
+    // Holds survive, the reloaded bitmap takes them over from HeldSeats
+    public void evict(Long showtimeId) {
+        bitmaps.remove(showtimeId);
+        endTimes.remove(showtimeId);
+        seatFeeds.close(showtimeId);
+    }
+
+    // Showtimes that are over are dropped from memory, checked at most once per sweep interval
+    private void evictEnded() {
+        Instant now = Instant.now();
+        Instant last = lastSweep.get();
+        if (last.plus(sweepInterval).isAfter(now) || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        endTimes.forEach((showtimeId, endTime) -> {
+            if (endTime.isBefore(now)) {
+                evict(showtimeId);
+            }
+        });
+    }
+
+    // Capacity changed: the theater's showtimes are reloaded once the change is committed
+    public void evictTheater(String theater) {
+        List<Long> showtimeIds = showtimeRepository.findIdsByTheater(theater);
+        showtimeIds.forEach(this::evict);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // Bitmaps loaded while the change was in flight saw the old capacity
+                    showtimeIds.forEach(showtimeId -> {
+                        bitmaps.remove(showtimeId);
+                        endTimes.remove(showtimeId);
+                    });
+                }
+            });
+        }
+    }
+
+    // Every seat taken or freed is pushed to the showtime's live seat stream, taken seats once settled.
+    // Showtimes in a theater that is not registered have no seat limit and no rows.
+    private SeatBitmap newBitmap(Long showtimeId, Theater theater) {
+        SeatBitmap.ChangeListener publish = (seatNumber, taken) -> seatFeeds.publish(showtimeId, seatNumber, taken);
+        if (theater == null) {
+            return new SeatBitmap(SeatBitmap.UNBOUNDED, 0, publish);
+        }
+        int seatsPerRow = theater.getSeatsPerRow() != null ? theater.getSeatsPerRow() : 0;
+        return new SeatBitmap(theater.getCapacity(), seatsPerRow, publish);
+    }
+
+    // Publishes the seats as taken once the surrounding transaction commits, and gives them back if it
+    // does not. Outside a transaction the caller keeps or releases the claim.
+    public SeatClaim claim(SeatBitmap bitmap, Collection<Integer> seatNumbers) {
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        SeatClaim claim = new SeatClaim(bitmap, seatNumbers, transactional);
+        if (transactional) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        claim.keep();
+                    } else {
+                        claim.release();
+                    }
+                }
+            });
+        }
+        return claim;
+    }
+}
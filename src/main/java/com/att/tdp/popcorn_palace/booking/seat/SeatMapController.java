@@ -0,0 +1,76 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowTimeIdNegException;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Base64;
+
+@RestController
+@RequestMapping("/showtimes")
+public class SeatMapController {
+
+    private static final String ENCODING = "base64-bitset";
+
+    private final SeatInventory seatInventory;
+    private final SeatFeeds seatFeeds;
+
+    public SeatMapController(SeatInventory seatInventory, SeatFeeds seatFeeds) {
+        this.seatInventory = seatInventory;
+        this.seatFeeds = seatFeeds;
+    }
+
+    @GetMapping("/{showtimeId}/seats")
+    public ResponseEntity<SeatMapResponse> getSeats(@PathVariable Long showtimeId, WebRequest request)
+            throws InvalidShowtimeIdNotFoundException {
+        if (showtimeId <= 0) {
+            throw new InvalidShowTimeIdNegException();
+        }
+        SeatBitmap bitmap = seatInventory.find(showtimeId)
+                .orElseThrow(InvalidShowtimeIdNotFoundException::new);
+
+        // Polling clients with an up to date map get a 304 without the bits being copied
+        String etag = "\"" + bitmap.tag() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        SeatBitmap.Snapshot snapshot = bitmap.snapshot();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag("\"" + snapshot.tag() + "\"")
+                .body(toResponse(showtimeId, bitmap, snapshot));
+    }
+
+    // Starts with a snapshot event, or resumes after the given event id, then pushes seat events
+    @GetMapping(value = "/{showtimeId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeats(@PathVariable Long showtimeId,
+                                  @RequestParam(required = false) String since,
+                                  @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId)
+            throws InvalidShowtimeIdNotFoundException {
+        if (showtimeId <= 0) {
+            throw new InvalidShowTimeIdNegException();
+        }
+        SeatBitmap bitmap = seatInventory.find(showtimeId)
+                .orElseThrow(InvalidShowtimeIdNotFoundException::new);
+        // The browser sends Last-Event-ID on its own reconnects, it is newer than the original since
+        String resumeFrom = lastEventId != null ? lastEventId : since;
+        return seatFeeds.subscribe(showtimeId, resumeFrom, () -> toResponse(showtimeId, bitmap, bitmap.snapshot()));
+    }
+
+    private static SeatMapResponse toResponse(Long showtimeId, SeatBitmap bitmap, SeatBitmap.Snapshot snapshot) {
+        return new SeatMapResponse(showtimeId,
+                bitmap.isBounded() ? bitmap.capacity() : null, snapshot.bookedCount(), ENCODING,
+                Base64.getEncoder().encodeToString(snapshot.seats()));
+    }
+}
@@ -0,0 +1,5 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+// seats is a base64 bitset, bit i of the little endian bytes set when seat i is taken.
+// capacity is null for theaters without a registered capacity.
+public record SeatMapResponse(Long showtimeId, Integer capacity, int bookedSeats, String encoding, String seats) {}
@@ -0,0 +1,5 @@
+package com.att.tdp.popcorn_palace.booking.seat;
+
+// id is "<feed>.<sequence>" and is what a client sends back to resume.
+// name is "snapshot" (data is a SeatMapResponse) or "seat" (data is a SeatChange).
+public record SeatStreamEvent(String id, String name, Object data) {}
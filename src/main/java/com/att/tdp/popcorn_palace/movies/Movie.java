@@ -1,5 +1,6 @@
 package com.att.tdp.popcorn_palace.movies;
 
+import com.att.tdp.popcorn_palace.PooledSequence;
 import com.att.tdp.popcorn_palace.showTime.Showtime;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -7,7 +8,11 @@ import jakarta.validation.constraints.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.Year;
 import java.util.List;
 
@@ -17,7 +22,7 @@ import java.util.List;
 @NoArgsConstructor
 public class Movie {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "movie_seq")
     private Long id;
 
     @NotBlank(message = "Movie Title is required")
@@ -43,8 +48,20 @@ public class Movie {
 
     @JsonIgnore
     @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL)
+    @OptimisticLock(excluded = true)
     private List<Showtime> showtimes;
 
+    // Concurrent updates of the same movie fail instead of overwriting each other
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    private Instant lastModified;
+
     @AssertTrue(message = "Release year must be less than or equal to three years in the future.")
     private boolean isReleaseYearValid() {
         return this.releaseYear == null || this.releaseYear <= Year.now().getValue()+3;
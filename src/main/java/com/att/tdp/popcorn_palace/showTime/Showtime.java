@@ -1,7 +1,9 @@
 package com.att.tdp.popcorn_palace.showTime;
 
+import com.att.tdp.popcorn_palace.PooledSequence;
 import com.att.tdp.popcorn_palace.booking.Booking;
 import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeScheduleListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -9,6 +11,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.util.List;
@@ -18,9 +23,17 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(ShowtimeScheduleListener.class)
+// Overlap checks seek on the theater and scan a bounded range of start times, searches
+// seek on the movie, the theater or nothing and read on in (startTime, id) order
+@Table(indexes = {
+        @Index(name = "idx_showtime_theater_start", columnList = "theater, startTime"),
+        @Index(name = "idx_showtime_movie_start", columnList = "movie_id, startTime, id"),
+        @Index(name = "idx_showtime_start", columnList = "startTime, id")
+})
 public class Showtime {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "showtime_seq")
     @Column(name = "id", updatable = false, nullable = false)
     private Long id;
 
@@ -49,8 +62,20 @@ public class Showtime {
 
     @JsonIgnore
     @OneToMany(mappedBy = "showtime", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OptimisticLock(excluded = true) // Bookings are not part of the showtime's representation
     private List<Booking> bookings;
 
+    // Bumped by every update, the ETag of GET /showtimes/{showtimeId}
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    private Instant lastModified;
+
     @PostLoad
     private void postLoad() {
         if (movie != null) {
@@ -0,0 +1,15 @@
+package com.att.tdp.popcorn_palace.showTime;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// Showtimes are validated one by one and rejected on their own, see ShowtimeBatchResult
+public record ShowtimeBatchRequest(
+
+        @NotEmpty(message = "Showtimes are required")
+        @Size(max = 1000, message = "At most 1000 showtimes can be scheduled at once")
+        List<@NotNull(message = "Showtime is required") Showtime> showtimes
+) {}
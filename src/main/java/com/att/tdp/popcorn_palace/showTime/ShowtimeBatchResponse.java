@@ -0,0 +1,6 @@
+package com.att.tdp.popcorn_palace.showTime;
+
+import java.util.List;
+
+// One result per requested showtime, in request order
+public record ShowtimeBatchResponse(int scheduled, int rejected, List<ShowtimeBatchResult> results) {}
@@ -0,0 +1,4 @@
+package com.att.tdp.popcorn_palace.showTime;
+
+// index is the 0-based position in the request; either showtimeId or error is set
+public record ShowtimeBatchResult(int index, Long showtimeId, String error) {}
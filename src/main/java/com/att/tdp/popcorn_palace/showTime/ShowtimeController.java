@@ -4,8 +4,13 @@ import com.att.tdp.popcorn_palace.movies.exceptions.InvalidMovieIdNotFoundExcept
 import com.att.tdp.popcorn_palace.showTime.exception.*;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
 
 @RestController
 @RequestMapping("/showtimes")
@@ -17,13 +22,43 @@ public class ShowtimeController {
         this.showtimeService = showtimeService;
     }
 
+    @GetMapping
+    public ResponseEntity<ShowtimeSearchPage> searchShowtimes(@RequestParam(required = false) Long movieId,
+                                                              @RequestParam(required = false) String theater,
+                                                              @RequestParam(required = false) Instant startFrom,
+                                                              @RequestParam(required = false) Instant startTo,
+                                                              @RequestParam(required = false) Double minPrice,
+                                                              @RequestParam(required = false) Double maxPrice,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") int limit) {
+        ShowtimeSearchCriteria criteria = new ShowtimeSearchCriteria(movieId, theater, startFrom, startTo, minPrice, maxPrice);
+        return ResponseEntity.ok(showtimeService.searchShowtimes(criteria, cursor, limit));
+    }
+
     @GetMapping("/{showtimeId}")
-    public ResponseEntity<Showtime> getShowtime(@PathVariable Long showtimeId)
+    public ResponseEntity<Showtime> getShowtime(@PathVariable Long showtimeId, WebRequest request)
             throws InvalidShowtimeIdNotFoundException {
         if (showtimeId <= 0){
             throw new InvalidShowTimeIdNegException();
         }
-        return ResponseEntity.ok(showtimeService.getShowtimeById(showtimeId));
+        // Polling clients with an up to date copy get a 304 from the version alone
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            ShowtimeVersion version = showtimeService.getShowtimeVersion(showtimeId);
+            if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+                return null;
+            }
+        }
+
+        Showtime showtime = showtimeService.getShowtimeById(showtimeId);
+        ShowtimeVersion version = ShowtimeVersion.of(showtime);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (version.version() != null) {
+            response.eTag(version.etag());
+        }
+        if (version.lastModified() != null) {
+            response.lastModified(version.lastModified());
+        }
+        return response.body(showtime);
     }
 
     @PostMapping
@@ -36,6 +71,12 @@ public class ShowtimeController {
         return ResponseEntity.ok(savedShowtime);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ShowtimeBatchResponse> addShowtimes(@Valid @RequestBody ShowtimeBatchRequest request)
+            throws ShowtimeOverlapException {
+        return ResponseEntity.ok(showtimeService.addShowtimes(request));
+    }
+
     @PostMapping("/update/{showtimeId}")
     public ResponseEntity<Showtime> updateShowtime(
             @PathVariable Long showtimeId,
@@ -0,0 +1,33 @@
+package com.att.tdp.popcorn_palace.showTime;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in search results: the (startTime, id) of the last showtime returned,
+// handed to clients as an opaque url safe token
+public record ShowtimeCursor(Instant startTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ShowtimeCursor after(ShowtimeListing listing) {
+        return new ShowtimeCursor(listing.startTime(), listing.showtimeId());
+    }
+
+    public String encode() {
+        String raw = startTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ShowtimeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ShowtimeCursor(Instant.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
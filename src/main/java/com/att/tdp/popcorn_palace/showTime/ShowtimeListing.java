@@ -0,0 +1,6 @@
+package com.att.tdp.popcorn_palace.showTime;
+
+import java.time.Instant;
+
+public record ShowtimeListing(Long showtimeId, Long movieId, String movieTitle, String theater,
+                              Instant startTime, Instant endTime, Double price) {}
@@ -1,43 +1,113 @@
 package com.att.tdp.popcorn_palace.showTime;
 
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSlot;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ShowtimeRepository extends JpaRepository<Showtime,Long> {
-    // Custom query to check for overlapping showtimes in the same theater
-    @Query(value = "SELECT COUNT(*) > 0 FROM showtime s " +
-            "WHERE s.theater = :theater " +
-            "AND s.id != :excludeId " +
-            "AND s.start_time < :endTime " +
-            "AND s.end_time > :startTime " +
-            "AND DATE_TRUNC('second', s.start_time) <> DATE_TRUNC('second', CAST(:endTime AS TIMESTAMP)) " +
-            "AND DATE_TRUNC('second', s.end_time) <> DATE_TRUNC('second', CAST(:startTime AS TIMESTAMP))",
-            nativeQuery = true)
-    boolean hasOverlappingShowtime(
-            @Param("theater") String theater,
-            @Param("startTime") Instant startTime,
-            @Param("endTime") Instant endTime,
-            @Param("excludeId") Long excludeId
-    );
-
-    @Query(value = "SELECT * FROM showtime s " +
+
+    // Longest showtime the duration rules allow: a 5400 minute movie plus 30 minutes
+    Duration MAX_SHOWTIME_LENGTH = Duration.ofMinutes(5400 + 30);
+
+    // Overlap search as a range scan of idx_showtime_theater_start. The start time is bounded on
+    // both sides, so the scan only covers showtimes that could still be running, however many
+    // the theater had before. No function is applied to a column.
+    String OVERLAPPING = " FROM Showtime s " +
             "WHERE s.theater = :theater " +
-            "AND s.id != :excludeId " +
-            "AND s.start_time < :endTime " +
-            "AND s.end_time > :startTime " +
-            "AND DATE_TRUNC('second', s.start_time) <> DATE_TRUNC('second', CAST(:endTime AS TIMESTAMP)) " +
-            "AND DATE_TRUNC('second', s.end_time) <> DATE_TRUNC('second', CAST(:startTime AS TIMESTAMP))",
-            nativeQuery = true)
-    List<Showtime> findOverlappingShowtimes(
-            @Param("theater") String theater,
-            @Param("startTime") Instant startTime,
-            @Param("endTime") Instant endTime,
-            @Param("excludeId") Long excludeId
-    );
+            "AND s.startTime >= :startFrom " +
+            "AND s.startTime < :startBefore " +
+            "AND s.endTime >= :endFrom " +
+            "AND s.id <> :excludeId";
+
+    // Search in start time order, seeking past (afterStart, afterId) on one of the composite
+    // indexes: idx_showtime_movie_start, idx_showtime_theater_start or idx_showtime_start.
+    // Absent bounds are passed as the widest values, so the statement is always the same and
+    // no OR ... IS NULL keeps the planner off the index.
+    String LISTING = "SELECT new com.att.tdp.popcorn_palace.showTime.ShowtimeListing(" +
+            "s.id, m.id, m.title, s.theater, s.startTime, s.endTime, s.price) " +
+            "FROM Showtime s JOIN s.movie m ";
+    String LISTING_BOUNDS = "AND (s.startTime, s.id) > (:afterStart, :afterId) " +
+            "AND s.startTime < :startTo " +
+            "AND s.price BETWEEN :minPrice AND :maxPrice " +
+            "ORDER BY s.startTime, s.id";
+
+    @Query(LISTING + "WHERE s.movie.id = :movieId " + LISTING_BOUNDS)
+    List<ShowtimeListing> findListingsOfMovie(@Param("movieId") Long movieId,
+                                              @Param("afterStart") Instant afterStart,
+                                              @Param("afterId") Long afterId,
+                                              @Param("startTo") Instant startTo,
+                                              @Param("minPrice") Double minPrice,
+                                              @Param("maxPrice") Double maxPrice,
+                                              Limit limit);
+
+    @Query(LISTING + "WHERE s.movie.id = :movieId AND s.theater = :theater " + LISTING_BOUNDS)
+    List<ShowtimeListing> findListingsOfMovieInTheater(@Param("movieId") Long movieId,
+                                                       @Param("theater") String theater,
+                                                       @Param("afterStart") Instant afterStart,
+                                                       @Param("afterId") Long afterId,
+                                                       @Param("startTo") Instant startTo,
+                                                       @Param("minPrice") Double minPrice,
+                                                       @Param("maxPrice") Double maxPrice,
+                                                       Limit limit);
+
+    @Query(LISTING + "WHERE s.theater = :theater " + LISTING_BOUNDS)
+    List<ShowtimeListing> findListingsInTheater(@Param("theater") String theater,
+                                                @Param("afterStart") Instant afterStart,
+                                                @Param("afterId") Long afterId,
+                                                @Param("startTo") Instant startTo,
+                                                @Param("minPrice") Double minPrice,
+                                                @Param("maxPrice") Double maxPrice,
+                                                Limit limit);
+
+    @Query(LISTING + "WHERE 1 = 1 " + LISTING_BOUNDS)
+    List<ShowtimeListing> findListings(@Param("afterStart") Instant afterStart,
+                                       @Param("afterId") Long afterId,
+                                       @Param("startTo") Instant startTo,
+                                       @Param("minPrice") Double minPrice,
+                                       @Param("maxPrice") Double maxPrice,
+                                       Limit limit);
+
+    @Query("SELECT new com.att.tdp.popcorn_palace.showTime.ShowtimeVersion(s.version, s.lastModified) " +
+            "FROM Showtime s WHERE s.id = :id")
+    Optional<ShowtimeVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.att.tdp.popcorn_palace.showTime.ShowtimeSeating(s.theater, s.endTime) " +
+            "FROM Showtime s WHERE s.id = :id")
+    Optional<ShowtimeSeating> findSeatingById(@Param("id") Long id);
+
+    @Query("SELECT s.id FROM Showtime s WHERE s.theater = :theater")
+    List<Long> findIdsByTheater(@Param("theater") String theater);
+
+    @Query("SELECT new com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSlot(s.id, s.startTime, s.endTime) " +
+            "FROM Showtime s WHERE s.theater = :theater AND s.startTime >= :from")
+    List<ShowtimeSlot> findSlotsStartingFrom(@Param("theater") String theater, @Param("from") Instant from);
+
+    @Query("SELECT new com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSlot(s.id, s.startTime, s.endTime)"
+            + OVERLAPPING + " ORDER BY s.startTime")
+    List<ShowtimeSlot> findSlotsInRange(@Param("theater") String theater,
+                                        @Param("startFrom") Instant startFrom,
+                                        @Param("startBefore") Instant startBefore,
+                                        @Param("endFrom") Instant endFrom,
+                                        @Param("excludeId") Long excludeId,
+                                        Limit limit);
+
+    // Showtimes that only meet within the same second do not overlap: an existing showtime
+    // conflicts when it starts before the second the new one ends in, and ends after the
+    // second the new one starts in
+    default List<ShowtimeSlot> findOverlappingSlots(String theater, Instant startTime, Instant endTime,
+                                                    Long excludeId, Limit limit) {
+        Instant endFrom = startTime.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        return findSlotsInRange(theater, endFrom.minus(MAX_SHOWTIME_LENGTH), endTime.truncatedTo(ChronoUnit.SECONDS),
+                endFrom, excludeId, limit);
+    }
 }
@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.showTime;
+
+import java.time.Instant;
+
+// Every filter is optional. startFrom is inclusive and startTo exclusive, the price range includes both ends.
+public record ShowtimeSearchCriteria(Long movieId, String theater, Instant startFrom, Instant startTo,
+                                     Double minPrice, Double maxPrice) {}
@@ -0,0 +1,6 @@
+package com.att.tdp.popcorn_palace.showTime;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record ShowtimeSearchPage(List<ShowtimeListing> showtimes, String nextCursor) {}
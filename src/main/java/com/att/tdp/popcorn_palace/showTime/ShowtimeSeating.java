@@ -0,0 +1,6 @@
+package com.att.tdp.popcorn_palace.showTime;
+
+import java.time.Instant;
+
+// What the seat inventory needs to know about a showtime: where it plays and until when
+public record ShowtimeSeating(String theater, Instant endTime) {}
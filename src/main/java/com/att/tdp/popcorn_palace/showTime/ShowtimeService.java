@@ -8,11 +8,18 @@ public interface ShowtimeService {
     Showtime getShowtimeById(Long showtimeId)
             throws InvalidShowtimeIdNotFoundException;
 
+    ShowtimeVersion getShowtimeVersion(Long showtimeId)
+            throws InvalidShowtimeIdNotFoundException;
+
     Showtime addShowtime(Showtime showTime)
             throws ShowtimeOverlapException,
             InvalidShowtimeDurationException,
             InvalidMovieIdNotFoundException, InvalidShowtimeStartTimeEndTimeException;
 
+    ShowtimeSearchPage searchShowtimes(ShowtimeSearchCriteria criteria, String cursor, int limit);
+
+    ShowtimeBatchResponse addShowtimes(ShowtimeBatchRequest request) throws ShowtimeOverlapException;
+
     void updateShowtime(Showtime showTime, Long showtimeId)
             throws ShowtimeOverlapException,
             InvalidShowtimeDurationException,
@@ -0,0 +1,20 @@
+package com.att.tdp.popcorn_palace.showTime;
+
+import java.time.Instant;
+
+// What conditional requests for a showtime are answered from, without loading the showtime
+public record ShowtimeVersion(Long version, Instant lastModified) {
+
+    public static ShowtimeVersion of(Showtime showtime) {
+        return new ShowtimeVersion(showtime.getVersion(), showtime.getLastModified());
+    }
+
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+
+    // -1 when unknown, which HTTP caching ignores
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.toEpochMilli() : -1;
+    }
+}
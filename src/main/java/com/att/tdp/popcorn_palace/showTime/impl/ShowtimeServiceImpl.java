@@ -1,32 +1,53 @@
 package com.att.tdp.popcorn_palace.showTime.impl;
 
+import com.att.tdp.popcorn_palace.booking.seat.SeatInventory;
 import com.att.tdp.popcorn_palace.movies.Movie;
 import com.att.tdp.popcorn_palace.movies.MovieRepository;
 import com.att.tdp.popcorn_palace.movies.MovieService;
 import com.att.tdp.popcorn_palace.movies.exceptions.InvalidMovieIdNotFoundException;
-import com.att.tdp.popcorn_palace.showTime.Showtime;
-import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
-import com.att.tdp.popcorn_palace.showTime.ShowtimeService;
+import com.att.tdp.popcorn_palace.showTime.*;
 import com.att.tdp.popcorn_palace.showTime.exception.*;
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSchedule;
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSlot;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.time.Duration;
-import java.util.List;
-import java.util.Optional;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ShowtimeServiceImpl implements ShowtimeService {
 
     private static final long EXTRA_SHOW_TIME_DURATION = 30;
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final int MAX_SEARCH_PAGE = 100;
+    // Bounds a search uses for the filters it was not given
+    private static final Instant EARLIEST_START = Instant.EPOCH;
+    private static final Instant LATEST_START = Instant.parse("9999-12-31T23:59:59Z");
     private final ShowtimeRepository showtimeRepository;
     private final MovieRepository movieRepository;
+    private final SeatInventory seatInventory;
+    private final ShowtimeSchedule showtimeSchedule;
+    private final Validator validator;
 
-    public ShowtimeServiceImpl(ShowtimeRepository showtimeRepository, MovieRepository movieRepository) {
+    public ShowtimeServiceImpl(ShowtimeRepository showtimeRepository, MovieRepository movieRepository,
+                               SeatInventory seatInventory, ShowtimeSchedule showtimeSchedule,
+                               Validator validator) {
         this.showtimeRepository = showtimeRepository;
         this.movieRepository = movieRepository;
+        this.seatInventory = seatInventory;
+        this.showtimeSchedule = showtimeSchedule;
+        this.validator = validator;
     }
 
     @Transactional(readOnly = true)
@@ -38,7 +59,65 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         return optionalShowtime.get();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    public ShowtimeVersion getShowtimeVersion(Long showtimeId) throws InvalidShowtimeIdNotFoundException {
+        return showtimeRepository.findVersionById(showtimeId)
+                .orElseThrow(InvalidShowtimeIdNotFoundException::new);
+    }
+
+    // One query per page, read as flat rows without loading Showtime, Movie or Booking entities
+    @Transactional(readOnly = true)
+    public ShowtimeSearchPage searchShowtimes(ShowtimeSearchCriteria criteria, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_PAGE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_PAGE);
+        }
+        Instant startFrom = criteria.startFrom() != null ? criteria.startFrom() : EARLIEST_START;
+        Instant startTo = criteria.startTo() != null ? criteria.startTo() : LATEST_START;
+        double minPrice = criteria.minPrice() != null ? criteria.minPrice() : 0;
+        double maxPrice = criteria.maxPrice() != null ? criteria.maxPrice() : Double.MAX_VALUE;
+        if (!startFrom.isBefore(startTo)) {
+            throw new IllegalArgumentException("Start from must be before start to");
+        }
+        if (minPrice > maxPrice) {
+            throw new IllegalArgumentException("Min price must not be more than max price");
+        }
+        String theater = criteria.theater() != null && !criteria.theater().isBlank() ? criteria.theater() : null;
+
+        // Continues strictly after the cursor, or takes every showtime starting at startFrom
+        Instant afterStart = startFrom;
+        Long afterId = Long.MIN_VALUE;
+        if (cursor != null) {
+            ShowtimeCursor after = ShowtimeCursor.decode(cursor);
+            if (!after.startTime().isBefore(startFrom)) {
+                afterStart = after.startTime();
+                afterId = after.id();
+            }
+        }
+
+        // One extra row tells whether there is a next page, without a count query
+        Limit fetch = Limit.of(limit + 1);
+        List<ShowtimeListing> rows;
+        if (criteria.movieId() != null && theater != null) {
+            rows = showtimeRepository.findListingsOfMovieInTheater(criteria.movieId(), theater, afterStart, afterId,
+                    startTo, minPrice, maxPrice, fetch);
+        } else if (criteria.movieId() != null) {
+            rows = showtimeRepository.findListingsOfMovie(criteria.movieId(), afterStart, afterId,
+                    startTo, minPrice, maxPrice, fetch);
+        } else if (theater != null) {
+            rows = showtimeRepository.findListingsInTheater(theater, afterStart, afterId,
+                    startTo, minPrice, maxPrice, fetch);
+        } else {
+            rows = showtimeRepository.findListings(afterStart, afterId, startTo, minPrice, maxPrice, fetch);
+        }
+
+        if (rows.size() <= limit) {
+            return new ShowtimeSearchPage(rows, null);
+        }
+        List<ShowtimeListing> page = rows.subList(0, limit);
+        return new ShowtimeSearchPage(List.copyOf(page), ShowtimeCursor.after(page.get(limit - 1)).encode());
+    }
+
+    @Transactional(rollbackFor = ShowtimeOverlapException.class)
     public Showtime addShowtime(Showtime showtime)
             throws ShowtimeOverlapException,
             InvalidShowtimeDurationException, InvalidMovieIdNotFoundException, InvalidShowtimeStartTimeEndTimeException {
@@ -47,10 +126,73 @@ public class ShowtimeServiceImpl implements ShowtimeService {
 
         validateShowtimeOverlap(null, showtime);
 
-        return showtimeRepository.save(showtime);
+        Showtime saved = showtimeRepository.save(showtime);
+        flushSchedule(showtime.getTheater());
+        return saved;
     }
 
-    @Transactional
+    // A whole schedule in one transaction: one query for the movies, the overlap checks in
+    // memory and one batched insert. Showtimes that fail a check are reported and skipped,
+    // the others are scheduled.
+    @Transactional(rollbackFor = ShowtimeOverlapException.class)
+    public ShowtimeBatchResponse addShowtimes(ShowtimeBatchRequest request) throws ShowtimeOverlapException {
+        List<Showtime> showtimes = request.showtimes();
+        String[] errors = new String[showtimes.size()];
+
+        Map<Long, Movie> movies = movieRepository.findAllById(showtimes.stream()
+                        .map(Showtime::getMovieId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+
+        Map<String, List<Integer>> showtimesByTheater = new TreeMap<>();
+        for (int i = 0; i < showtimes.size(); i++) {
+            Showtime showtime = showtimes.get(i);
+            errors[i] = checkShowtime(showtime, movies);
+            if (errors[i] == null) {
+                showtimesByTheater.computeIfAbsent(showtime.getTheater(), theater -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // Each theater is swept in start time order, against its schedule and against the last
+        // showtime kept from this batch: of two that overlap, the earlier one is kept
+        showtimeSchedule.lock(showtimesByTheater.keySet().toArray(String[]::new));
+        List<Showtime> accepted = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> theater : showtimesByTheater.entrySet()) {
+            List<Integer> indexes = theater.getValue();
+            indexes.sort(Comparator.comparing(index -> showtimes.get(index).getStartTime()));
+            Integer lastKept = null;
+            for (Integer index : indexes) {
+                Showtime showtime = showtimes.get(index);
+                List<ShowtimeSlot> conflicting = showtimeSchedule.findOverlapping(
+                        theater.getKey(), showtime.getStartTime(), showtime.getEndTime(), null);
+                if (!conflicting.isEmpty()) {
+                    errors[index] = new ShowtimeOverlapException(theater.getKey(), conflictDetails(conflicting)).getMessage();
+                } else if (lastKept != null && overlaps(showtimes.get(lastKept), showtime)) {
+                    errors[index] = "Showtime conflicts with showtime at index " + lastKept + " of this batch";
+                } else {
+                    lastKept = index;
+                    accepted.add(showtime);
+                }
+            }
+        }
+
+        // Written as JDBC batches (hibernate.jdbc.batch_size)
+        showtimeRepository.saveAll(accepted);
+        flushSchedule(showtimesByTheater.keySet().toArray(String[]::new));
+
+        List<ShowtimeBatchResult> results = new ArrayList<>(showtimes.size());
+        for (int i = 0; i < showtimes.size(); i++) {
+            results.add(errors[i] == null
+                    ? new ShowtimeBatchResult(i, showtimes.get(i).getId(), null)
+                    : new ShowtimeBatchResult(i, null, errors[i]));
+        }
+        return new ShowtimeBatchResponse(accepted.size(), showtimes.size() - accepted.size(), results);
+    }
+
+    @Transactional(rollbackFor = ShowtimeOverlapException.class)
     public void updateShowtime(Showtime updatedShowtime, Long showtimeId)
             throws ShowtimeOverlapException,
             InvalidShowtimeDurationException, InvalidMovieIdNotFoundException, InvalidShowtimeIdNotFoundException, InvalidShowtimeStartTimeEndTimeException, UpdateShowtimeWithBookingsException {
@@ -66,10 +208,15 @@ public class ShowtimeServiceImpl implements ShowtimeService {
 
         validateShowtime(updatedShowtime);
 
+        // Moving to another theater changes both schedules
+        showtimeSchedule.lock(existingShowtime.getTheater(), updatedShowtime.getTheater());
         validateShowtimeOverlap(showtimeId, updatedShowtime);
 
-        BeanUtils.copyProperties(updatedShowtime, existingShowtime, "id");
+        // The version is Hibernate's, it only moves when the update is written
+        BeanUtils.copyProperties(updatedShowtime, existingShowtime, "id", "version", "lastModified");
         showtimeRepository.save(existingShowtime);
+        flushSchedule(existingShowtime.getTheater());
+        seatInventory.evict(showtimeId);
     }
 
 
@@ -80,6 +227,7 @@ public class ShowtimeServiceImpl implements ShowtimeService {
             throw new InvalidShowtimeIdNotFoundException();
         }
         showtimeRepository.deleteById(showtimeId);
+        seatInventory.evict(showtimeId);
     }
 
     // Validation method
@@ -89,6 +237,10 @@ public class ShowtimeServiceImpl implements ShowtimeService {
                 .orElseThrow(InvalidMovieIdNotFoundException::new);
         showtime.setMovie(movie);
 
+        validateDuration(showtime, movie);
+    }
+
+    private void validateDuration(Showtime showtime, Movie movie) throws InvalidShowtimeDurationException, InvalidShowtimeStartTimeEndTimeException {
         Duration showtimeDuration = Duration.between(
                 showtime.getStartTime(),
                 showtime.getEndTime()
@@ -112,33 +264,82 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         }
     }
 
+    // The single showtime checks of a batch item, null when it passes
+    private String checkShowtime(Showtime showtime, Map<Long, Movie> movies) {
+        Set<ConstraintViolation<Showtime>> violations = validator.validate(showtime);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        Movie movie = movies.get(showtime.getMovieId());
+        if (movie == null) {
+            return new InvalidMovieIdNotFoundException().getMessage();
+        }
+        showtime.setMovie(movie);
+        try {
+            validateDuration(showtime, movie);
+            return null;
+        } catch (InvalidShowtimeDurationException | InvalidShowtimeStartTimeEndTimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static boolean overlaps(Showtime kept, Showtime showtime) {
+        return new ShowtimeSlot(kept.getId(), kept.getStartTime(), kept.getEndTime())
+                .overlaps(showtime.getStartTime(), showtime.getEndTime());
+    }
+
+    // Another instance of the application can write the same theater: the showtime_no_overlap
+    // exclusion constraint (PostgreSQL) rejects the row, and that is reported like any overlap
+    private void flushSchedule(String... theaters) throws ShowtimeOverlapException {
+        try {
+            showtimeRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMostSpecificCause() instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                throw new ShowtimeOverlapException("Showtime conflicts with a showtime written concurrently in "
+                        + conflictingTheater(sqlException, theaters));
+            }
+            throw e;
+        }
+    }
+
+    // A batch flushes several theaters at once. PostgreSQL names the theater of the rejected row
+    // in its detail, "Key (theater, tstzrange(...))=(<theater>, [...)) conflicts with ..."
+    private static String conflictingTheater(SQLException e, String... theaters) {
+        String message = String.valueOf(e.getMessage());
+        return Stream.of(theaters)
+                .filter(theater -> message.contains(")=(" + theater + ", "))
+                .findFirst()
+                .orElse(String.join(", ", theaters));
+    }
+
     private void validateShowtimeOverlap(Long excludeId, Showtime showtime)
             throws ShowtimeOverlapException{
-        // Check if there are any overlapping showtimes in the same theater
-        boolean hasOverlap = showtimeRepository.hasOverlappingShowtime(
+        // Showtimes this transaction saved but did not write yet reach the schedule when flushed
+        showtimeRepository.flush();
+
+        // Check if there are any overlapping showtimes in the same theater, the theater stays
+        // locked until this transaction completes
+        List<ShowtimeSlot> conflictingShowtimes = showtimeSchedule.findOverlapping(
                 showtime.getTheater(),
                 showtime.getStartTime(),
                 showtime.getEndTime(),
-                excludeId != null ? excludeId : -1L
+                excludeId
         );
 
-        if (hasOverlap) {
-            // Find the conflicting showtimes to provide more details
-            List<Showtime> conflictingShowtimes = showtimeRepository.findOverlappingShowtimes(
-                    showtime.getTheater(),
-                    showtime.getStartTime(),
-                    showtime.getEndTime(),
-                    excludeId != null ? excludeId : -1L
-            );
-
-            // Prepare detailed error message
-            String conflictDetails = conflictingShowtimes.stream()
-                    .map(st -> String.format("Showtime %d: %s - %s",
-                            st.getId(), st.getStartTime(), st.getEndTime()))
-                    .collect(Collectors.joining(", "));
-
-            throw new ShowtimeOverlapException(showtime.getTheater(),conflictDetails);
+        if (!conflictingShowtimes.isEmpty()) {
+            throw new ShowtimeOverlapException(showtime.getTheater(), conflictDetails(conflictingShowtimes));
         }
     }
-}
 
+    // Prepare detailed error message
+    private static String conflictDetails(List<ShowtimeSlot> conflictingShowtimes) {
+        return conflictingShowtimes.stream()
+                .map(st -> String.format("Showtime %d: %s - %s",
+                        st.id(), st.startTime(), st.endTime()))
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,26 @@
+package com.att.tdp.popcorn_palace.showTime.planner;
+
+import java.time.ZonedDateTime;
+
+// A movie that fits the next free slot of a theater, as seen by a PlacementScorer.
+// idleMinutes is how long the theater stays empty before it starts, scheduled how many
+// screenings of the movie the plan already has.
+public record Placement(Long movieId,
+                        String theater,
+                        int day,
+                        ZonedDateTime start,
+                        long lengthMinutes,
+                        long idleMinutes,
+                        int scheduled,
+                        int target,
+                        int days) {
+
+    // Screenings the movie is short of an even spread over the days, up to and including this one
+    public double behindPace() {
+        return (double) target * (day + 1) / days - scheduled;
+    }
+
+    public double screeningsPerDay() {
+        return (double) target / days;
+    }
+}
@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.showTime.planner;
+
+// Picks the movie for a free slot: the placement with the highest score is scheduled.
+// The implementation is chosen with popcorn-palace.showtime.planner.scoring.
+public interface PlacementScorer {
+    double score(Placement placement);
+}
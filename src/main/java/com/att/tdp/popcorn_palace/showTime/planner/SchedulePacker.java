@@ -0,0 +1,151 @@
+package com.att.tdp.popcorn_palace.showTime.planner;
+
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSlot;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+// Greedy packing, one day at a time: the theater that is free first takes the next
+// showtime, and of the movies that are not ahead of their share of the days so far and
+// end before closing the PlacementScorer picks one. Existing showtimes are skipped over, and showtimes start on
+// a five minute grid, so the plan never overlaps itself or what is already scheduled.
+// Work grows with theaters x showtimes x movies, a few hundred thousand placements for
+// a week of 20 theaters.
+public final class SchedulePacker {
+
+    public static final Duration START_GRID = Duration.ofMinutes(5);
+
+    private final PlacementScorer scorer;
+
+    public SchedulePacker(PlacementScorer scorer) {
+        this.scorer = scorer;
+    }
+
+    // durations are movie lengths in minutes, booked the showtimes each theater already has sorted by start time
+    public SchedulePlan pack(SchedulePlanRequest request, ZoneId zone, Map<Long, Integer> durations,
+                             Map<String, List<ShowtimeSlot>> booked, Instant notBefore) {
+        List<ScreeningTarget> targets = request.movies();
+        Duration[] lengths = new Duration[targets.size()];
+        for (int i = 0; i < targets.size(); i++) {
+            lengths[i] = Duration.ofMinutes(durations.get(targets.get(i).movieId()) + request.bufferMinutes());
+        }
+        int[] scheduled = new int[targets.size()];
+        List<Showtime> showtimes = new ArrayList<>();
+
+        for (int day = 0; day < request.days(); day++) {
+            Instant opens = opening(request, zone, day);
+            Instant closes = closing(request, zone, day);
+            Instant first = align(opens.isBefore(notBefore) ? notBefore : opens);
+
+            PriorityQueue<Screen> screens = new PriorityQueue<>(
+                    Comparator.comparing((Screen screen) -> screen.free).thenComparing(screen -> screen.theater));
+            for (String theater : new TreeSet<>(request.theaters())) {
+                screens.add(new Screen(theater, first, booked.getOrDefault(theater, List.of())));
+            }
+
+            while (!screens.isEmpty()) {
+                Screen screen = screens.poll();
+                int best = -1;
+                double bestScore = 0;
+                Instant bestStart = null;
+                for (int i = 0; i < targets.size(); i++) {
+                    ScreeningTarget target = targets.get(i);
+                    // Never ahead of an even spread, so a week with room to spare is not front-loaded
+                    if (scheduled[i] >= Math.ceilDiv(target.screenings() * (day + 1), request.days())) {
+                        continue;
+                    }
+                    Instant start = screen.earliestFit(lengths[i]);
+                    if (start.plus(lengths[i]).isAfter(closes)) {
+                        continue;
+                    }
+                    double score = scorer.score(new Placement(target.movieId(), screen.theater, day, start.atZone(zone),
+                            lengths[i].toMinutes(), Duration.between(screen.free, start).toMinutes(),
+                            scheduled[i], target.screenings(), request.days()));
+                    if (best < 0 || score > bestScore) {
+                        best = i;
+                        bestScore = score;
+                        bestStart = start;
+                    }
+                }
+                // Nothing fits before closing, the theater is done for the day
+                if (best < 0) {
+                    continue;
+                }
+
+                ScreeningTarget target = targets.get(best);
+                Instant end = bestStart.plus(lengths[best]);
+                showtimes.add(showtime(target, screen.theater, bestStart, end));
+                scheduled[best]++;
+                screen.free = align(end);
+                screens.add(screen);
+            }
+        }
+
+        List<UnscheduledScreenings> unscheduled = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            if (scheduled[i] < targets.get(i).screenings()) {
+                unscheduled.add(new UnscheduledScreenings(targets.get(i).movieId(), targets.get(i).screenings() - scheduled[i]));
+            }
+        }
+        return new SchedulePlan(showtimes, unscheduled);
+    }
+
+    public static Instant opening(SchedulePlanRequest request, ZoneId zone, int day) {
+        return request.firstDay().plusDays(day).atTime(request.opensAt()).atZone(zone).toInstant();
+    }
+
+    // Closing time not after opening time means the theaters close after midnight
+    public static Instant closing(SchedulePlanRequest request, ZoneId zone, int day) {
+        LocalDate date = request.firstDay().plusDays(day);
+        if (!request.closesAt().isAfter(request.opensAt())) {
+            date = date.plusDays(1);
+        }
+        return date.atTime(request.closesAt()).atZone(zone).toInstant();
+    }
+
+    private static Instant align(Instant time) {
+        long grid = START_GRID.toSeconds();
+        long seconds = time.getEpochSecond() + (time.getNano() > 0 ? 1 : 0);
+        return Instant.ofEpochSecond(Math.ceilDiv(seconds, grid) * grid);
+    }
+
+    private static Showtime showtime(ScreeningTarget target, String theater, Instant start, Instant end) {
+        Showtime showtime = new Showtime();
+        showtime.setMovieId(target.movieId());
+        showtime.setPrice(target.price());
+        showtime.setTheater(theater);
+        showtime.setStartTime(start);
+        showtime.setEndTime(end);
+        return showtime;
+    }
+
+    private static final class Screen {
+        private final String theater;
+        private final List<ShowtimeSlot> booked;
+        private Instant free;
+
+        private Screen(String theater, Instant free, List<ShowtimeSlot> booked) {
+            this.theater = theater;
+            this.free = free;
+            this.booked = booked;
+        }
+
+        // First start on the grid, from when the theater is free, that clears the booked showtimes
+        private Instant earliestFit(Duration length) {
+            Instant start = free;
+            for (ShowtimeSlot slot : booked) {
+                if (!slot.startTime().isBefore(start.plus(length))) {
+                    break;
+                }
+                if (slot.overlaps(start, start.plus(length))) {
+                    start = align(slot.endTime());
+                }
+            }
+            return start;
+        }
+    }
+}
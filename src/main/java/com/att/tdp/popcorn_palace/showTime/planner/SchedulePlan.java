@@ -0,0 +1,9 @@
+package com.att.tdp.popcorn_palace.showTime.planner;
+
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+
+import java.util.List;
+
+// showtimes can be sent as they are to POST /showtimes/batch. unscheduled lists the
+// movies whose target did not fit in the opening hours.
+public record SchedulePlan(List<Showtime> showtimes, List<UnscheduledScreenings> unscheduled) {}
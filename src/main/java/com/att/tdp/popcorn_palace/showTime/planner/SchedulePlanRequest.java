@@ -0,0 +1,41 @@
+package com.att.tdp.popcorn_palace.showTime.planner;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+// Theaters are open from opensAt to closesAt every day, past midnight when closesAt is not
+// after opensAt. Times are local to timeZone, UTC when it is not given.
+public record SchedulePlanRequest(
+
+        @NotEmpty(message = "Theaters are required")
+        List<@NotBlank(message = "Theater name is required") String> theaters,
+
+        @NotNull(message = "First day is required")
+        LocalDate firstDay,
+
+        @NotNull(message = "Days are required")
+        @Min(value = 1, message = "Days must be between 1 and 14")
+        @Max(value = 14, message = "Days must be between 1 and 14")
+        Integer days,
+
+        @NotNull(message = "Opening time is required")
+        LocalTime opensAt,
+
+        @NotNull(message = "Closing time is required")
+        LocalTime closesAt,
+
+        String timeZone,
+
+        // Added to the movie duration for every showtime, within the 0-30 minutes the showtime rules allow
+        @NotNull(message = "Buffer minutes are required")
+        @Min(value = 0, message = "Buffer minutes must be between 0 and 30")
+        @Max(value = 30, message = "Buffer minutes must be between 0 and 30")
+        Integer bufferMinutes,
+
+        @NotEmpty(message = "Movies are required")
+        List<@Valid @NotNull(message = "Movie is required") ScreeningTarget> movies
+) {}
@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.showTime.planner;
+
+import com.att.tdp.popcorn_palace.movies.exceptions.InvalidMovieIdNotFoundException;
+
+public interface SchedulePlanner {
+    SchedulePlan plan(SchedulePlanRequest request) throws InvalidMovieIdNotFoundException;
+}
@@ -0,0 +1,27 @@
+package com.att.tdp.popcorn_palace.showTime.planner;
+
+import com.att.tdp.popcorn_palace.movies.exceptions.InvalidMovieIdNotFoundException;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/showtimes")
+public class SchedulePlannerController {
+
+    private final SchedulePlanner schedulePlanner;
+
+    public SchedulePlannerController(SchedulePlanner schedulePlanner) {
+        this.schedulePlanner = schedulePlanner;
+    }
+
+    // Only proposes showtimes, nothing is scheduled until the plan is sent to /showtimes/batch
+    @PostMapping("/plan")
+    public ResponseEntity<SchedulePlan> plan(@Valid @RequestBody SchedulePlanRequest request)
+            throws InvalidMovieIdNotFoundException {
+        return ResponseEntity.ok(schedulePlanner.plan(request));
+    }
+}
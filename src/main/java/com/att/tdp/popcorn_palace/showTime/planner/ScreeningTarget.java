@@ -0,0 +1,20 @@
+package com.att.tdp.popcorn_palace.showTime.planner;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+// How many times a movie should be screened over the whole plan, and at what price
+public record ScreeningTarget(
+
+        @NotNull(message = "Movie ID is required")
+        @Positive(message = "MovieId need to be greater than 0")
+        Long movieId,
+
+        @NotNull(message = "Screenings are required")
+        @Positive(message = "Screenings must be positive")
+        Integer screenings,
+
+        @NotNull(message = "Price is required")
+        @Positive(message = "Price must be positive")
+        Double price
+) {}
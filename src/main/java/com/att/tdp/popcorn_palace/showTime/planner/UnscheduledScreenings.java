@@ -0,0 +1,3 @@
+package com.att.tdp.popcorn_palace.showTime.planner;
+
+public record UnscheduledScreenings(Long movieId, int screenings) {}
@@ -0,0 +1,18 @@
+package com.att.tdp.popcorn_palace.showTime.planner.impl;
+
+import com.att.tdp.popcorn_palace.showTime.planner.Placement;
+import com.att.tdp.popcorn_palace.showTime.planner.PlacementScorer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Spreads every movie evenly over the days and keeps the theaters busy: the movie furthest
+// behind its daily share wins, less an hour's worth for every hour the theater stands empty
+@Component
+@ConditionalOnProperty(name = "popcorn-palace.showtime.planner.scoring", havingValue = "balanced", matchIfMissing = true)
+public class BalancedPlacementScorer implements PlacementScorer {
+
+    @Override
+    public double score(Placement placement) {
+        return placement.behindPace() - placement.idleMinutes() / 60.0;
+    }
+}
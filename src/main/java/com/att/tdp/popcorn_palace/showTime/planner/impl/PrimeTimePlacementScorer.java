@@ -0,0 +1,27 @@
+package com.att.tdp.popcorn_palace.showTime.planner.impl;
+
+import com.att.tdp.popcorn_palace.showTime.planner.Placement;
+import com.att.tdp.popcorn_palace.showTime.planner.PlacementScorer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+
+// Like balanced, but slots starting in the evening go to the movies with the most screenings a day
+@Component
+@ConditionalOnProperty(name = "popcorn-palace.showtime.planner.scoring", havingValue = "prime-time")
+public class PrimeTimePlacementScorer implements PlacementScorer {
+
+    private static final LocalTime PRIME_TIME_START = LocalTime.of(18, 0);
+    private static final LocalTime PRIME_TIME_END = LocalTime.of(22, 0);
+
+    @Override
+    public double score(Placement placement) {
+        double score = placement.behindPace() - placement.idleMinutes() / 60.0;
+        LocalTime start = placement.start().toLocalTime();
+        if (!start.isBefore(PRIME_TIME_START) && start.isBefore(PRIME_TIME_END)) {
+            score += placement.screeningsPerDay();
+        }
+        return score;
+    }
+}
@@ -0,0 +1,77 @@
+package com.att.tdp.popcorn_palace.showTime.planner.impl;
+
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.movies.exceptions.InvalidMovieIdNotFoundException;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.showTime.planner.*;
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSlot;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class SchedulePlannerImpl implements SchedulePlanner {
+
+    private final MovieRepository movieRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final SchedulePacker schedulePacker;
+
+    public SchedulePlannerImpl(MovieRepository movieRepository,
+                               ShowtimeRepository showtimeRepository,
+                               PlacementScorer placementScorer) {
+        this.movieRepository = movieRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.schedulePacker = new SchedulePacker(placementScorer);
+    }
+
+    @Transactional(readOnly = true)
+    public SchedulePlan plan(SchedulePlanRequest request) throws InvalidMovieIdNotFoundException {
+        List<Long> movieIds = request.movies().stream().map(ScreeningTarget::movieId).toList();
+        if (new HashSet<>(movieIds).size() != movieIds.size()) {
+            throw new IllegalArgumentException("Movie ids must be unique");
+        }
+        ZoneId zone = zoneOf(request.timeZone());
+
+        Map<Long, Integer> durations = movieRepository.findAllById(movieIds).stream()
+                .collect(Collectors.toMap(Movie::getId, Movie::getDuration));
+        if (durations.size() != movieIds.size()) {
+            throw new InvalidMovieIdNotFoundException();
+        }
+
+        // What the theaters already have in the planned days, one lookup per theater. A plan
+        // is only a proposal, so this reads a snapshot without taking the theater locks;
+        // POST /showtimes/batch checks every showtime again when the plan is saved
+        List<String> theaters = request.theaters().stream().distinct().toList();
+        Instant from = SchedulePacker.opening(request, zone, 0);
+        Instant to = SchedulePacker.closing(request, zone, request.days() - 1);
+        Map<String, List<ShowtimeSlot>> booked = new HashMap<>();
+        for (String theater : theaters) {
+            booked.put(theater, showtimeRepository.findOverlappingSlots(theater, from, to, -1L, Limit.unlimited()));
+        }
+
+        // Showtimes must start in the future when the plan is sent back
+        return schedulePacker.pack(request, zone, durations, booked, Instant.now().plus(SchedulePacker.START_GRID));
+    }
+
+    private static ZoneId zoneOf(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown time zone " + timeZone);
+        }
+    }
+}
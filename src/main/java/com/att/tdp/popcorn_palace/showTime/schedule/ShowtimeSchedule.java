@@ -0,0 +1,156 @@
+package com.att.tdp.popcorn_palace.showTime.schedule;
+
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// In-memory schedule of every theater that has been checked for overlaps since startup.
+// It is loaded from the showtime table the first time, with the showtimes that can still
+// be running at that point; windows that start earlier are left to the database. A transaction that checks or writes
+// showtimes of a theater holds that theater's lock until it completes, so two of them
+// can never both find the same slot free. Writes reach the schedule through
+// ShowtimeScheduleListener when they are flushed; a transaction that does not commit
+// drops the schedules it touched and they are loaded again on next use.
+// Theater locks are taken in name order; one that comes before a lock the transaction
+// already holds (a flush touching theaters out of order) is only waited for up to
+// lock-timeout, after which the transaction fails instead of risking a deadlock.
+@Component
+public class ShowtimeSchedule {
+
+    private final ConcurrentHashMap<String, TheaterSchedule> schedules = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    // Theater of every showtime in a loaded schedule, to find it again when it moves
+    private final ConcurrentHashMap<Long, String> theaterOfShowtime = new ConcurrentHashMap<>();
+    private final ShowtimeRepository showtimeRepository;
+    private final Duration lockTimeout;
+
+    public ShowtimeSchedule(ShowtimeRepository showtimeRepository,
+                            @Value("${popcorn-palace.showtime.schedule.lock-timeout:PT5S}") Duration lockTimeout) {
+        this.showtimeRepository = showtimeRepository;
+        this.lockTimeout = lockTimeout;
+    }
+
+    // Showtimes of the theater overlapping [start, end), sorted by start time
+    public List<ShowtimeSlot> findOverlapping(String theater, Instant start, Instant end, Long excludeId) {
+        lock(theater);
+        TheaterSchedule schedule = scheduleOf(theater);
+        if (schedule.covers(start)) {
+            return schedule.overlapping(start, end, excludeId);
+        }
+        return showtimeRepository.findOverlappingSlots(theater, start, end,
+                excludeId != null ? excludeId : -1L, Limit.unlimited());
+    }
+
+    // Takes the locks of several theaters in name order, so transactions that need the same ones cannot deadlock
+    public void lock(String... theaters) {
+        Stream.of(theaters).filter(Objects::nonNull).distinct().sorted().forEach(this::lock);
+    }
+
+    // A showtime was inserted or updated
+    public void record(Long id, String theater, Instant startTime, Instant endTime) {
+        String previous = theaterOfShowtime.get(id);
+        if (previous != null && !previous.equals(theater)) {
+            forget(id, previous);
+        }
+        lock(theater);
+        TheaterSchedule schedule = schedules.get(theater);
+        if (schedule != null) {
+            schedule.put(new ShowtimeSlot(id, startTime, endTime));
+            theaterOfShowtime.put(id, theater);
+        }
+    }
+
+    // A showtime was deleted
+    public void forget(Long id, String theater) {
+        lock(theater);
+        TheaterSchedule schedule = schedules.get(theater);
+        if (schedule != null && schedule.remove(id)) {
+            theaterOfShowtime.remove(id, theater);
+        }
+    }
+
+    // Only called while holding the theater's lock. Showtimes that are over are trimmed on the way,
+    // so a schedule stays as small as the day it was loaded.
+    private TheaterSchedule scheduleOf(String theater) {
+        Instant now = Instant.now();
+        TheaterSchedule schedule = schedules.get(theater);
+        if (schedule != null) {
+            schedule.trim(now.minus(ShowtimeRepository.MAX_SHOWTIME_LENGTH))
+                    .forEach(id -> theaterOfShowtime.remove(id, theater));
+            return schedule;
+        }
+        TheaterSchedule loaded = new TheaterSchedule(now);
+        showtimeRepository.findSlotsStartingFrom(theater, now.minus(ShowtimeRepository.MAX_SHOWTIME_LENGTH))
+                .forEach(loaded::put);
+        loaded.ids().forEach(id -> theaterOfShowtime.put(id, theater));
+        schedules.put(theater, loaded);
+        return loaded;
+    }
+
+    private void evict(String theater) {
+        TheaterSchedule schedule = schedules.remove(theater);
+        if (schedule != null) {
+            schedule.ids().forEach(id -> theaterOfShowtime.remove(id, theater));
+        }
+    }
+
+    private void lock(String theater) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Showtime schedules are only read and written inside a transaction");
+        }
+        HeldLocks held = (HeldLocks) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            held = new HeldLocks();
+            TransactionSynchronizationManager.bindResource(this, held);
+            TransactionSynchronizationManager.registerSynchronization(held);
+        }
+        if (held.theaters.contains(theater)) {
+            return;
+        }
+        ReentrantLock lock = locks.computeIfAbsent(theater, name -> new ReentrantLock());
+        if (held.theaters.isEmpty() || held.theaters.last().compareTo(theater) < 0) {
+            lock.lock();
+        } else if (!tryLock(lock)) {
+            throw new CannotAcquireLockException("Schedule of theater " + theater + " is locked by another request");
+        }
+        held.theaters.add(theater);
+    }
+
+    private boolean tryLock(ReentrantLock lock) {
+        try {
+            return lock.tryLock(lockTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private class HeldLocks implements TransactionSynchronization {
+        private final TreeSet<String> theaters = new TreeSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ShowtimeSchedule.this);
+            for (String theater : theaters) {
+                if (status != STATUS_COMMITTED) {
+                    evict(theater);
+                }
+                locks.get(theater).unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.att.tdp.popcorn_palace.showTime.schedule;
+
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Created by Hibernate through Spring's bean container. Runs when showtime writes are
+// flushed, whichever code path made them. Repository slice tests have no schedule.
+public class ShowtimeScheduleListener {
+
+    private final ObjectProvider<ShowtimeSchedule> showtimeSchedule;
+
+    public ShowtimeScheduleListener(ObjectProvider<ShowtimeSchedule> showtimeSchedule) {
+        this.showtimeSchedule = showtimeSchedule;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void written(Showtime showtime) {
+        showtimeSchedule.ifAvailable(schedule -> schedule.record(showtime.getId(), showtime.getTheater(),
+                showtime.getStartTime(), showtime.getEndTime()));
+    }
+
+    @PostRemove
+    public void removed(Showtime showtime) {
+        showtimeSchedule.ifAvailable(schedule -> schedule.forget(showtime.getId(), showtime.getTheater()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.att.tdp.popcorn_palace.showTime.schedule;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+public record ShowtimeSlot(Long id, Instant startTime, Instant endTime) {
+
+    // Showtimes that only meet within the same second do not overlap
+    public boolean overlaps(Instant start, Instant end) {
+        return startTime.isBefore(end)
+                && endTime.isAfter(start)
+                && !sameSecond(startTime, end)
+                && !sameSecond(endTime, start);
+    }
+
+    private static boolean sameSecond(Instant a, Instant b) {
+        return a.truncatedTo(ChronoUnit.SECONDS).equals(b.truncatedTo(ChronoUnit.SECONDS));
+    }
+}
@@ -0,0 +1,115 @@
+package com.att.tdp.popcorn_palace.showTime.schedule;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Showtimes of one theater sorted by start time. No showtime is longer than the longest
+// one it holds, so only those starting less than that before a window can reach into
+// it: a lookup is one descent of the tree followed by the showtimes it returns.
+// Holds every showtime that can overlap a window starting at coveredFrom or later;
+// trimming drops the ones that are over and moves coveredFrom forward.
+// Not thread safe, ShowtimeSchedule only touches it while holding the theater's lock.
+public class TheaterSchedule {
+
+    private static final Comparator<ShowtimeSlot> BY_START = Comparator.comparing(ShowtimeSlot::startTime)
+            .thenComparing(ShowtimeSlot::id);
+
+    private final TreeSet<ShowtimeSlot> slots = new TreeSet<>(BY_START);
+    private final Map<Long, ShowtimeSlot> slotsById = new HashMap<>();
+    // How many slots have each length, the last key is the longest one held
+    private final TreeMap<Duration, Integer> lengths = new TreeMap<>();
+    private Instant coveredFrom;
+
+    public TheaterSchedule() {
+        this(Instant.MIN);
+    }
+
+    public TheaterSchedule(Instant coveredFrom) {
+        this.coveredFrom = coveredFrom;
+    }
+
+    public boolean covers(Instant start) {
+        return !start.isBefore(coveredFrom);
+    }
+
+    public void put(ShowtimeSlot slot) {
+        remove(slot.id());
+        slots.add(slot);
+        slotsById.put(slot.id(), slot);
+        lengths.merge(length(slot), 1, Integer::sum);
+    }
+
+    public boolean remove(Long id) {
+        ShowtimeSlot slot = slotsById.remove(id);
+        if (slot == null || !slots.remove(slot)) {
+            return false;
+        }
+        forgetLength(slot);
+        return true;
+    }
+
+    // Drops the showtimes that ended before cutoff, windows from cutoff on cannot reach them.
+    // Returns the ids of the dropped showtimes.
+    public List<Long> trim(Instant cutoff) {
+        if (cutoff.isAfter(coveredFrom)) {
+            coveredFrom = cutoff;
+        }
+        List<Long> trimmed = new ArrayList<>();
+        Iterator<ShowtimeSlot> oldest = slots.iterator();
+        while (oldest.hasNext()) {
+            ShowtimeSlot slot = oldest.next();
+            if (!slot.startTime().isBefore(cutoff)) {
+                break;
+            }
+            if (slot.endTime().isBefore(cutoff)) {
+                oldest.remove();
+                slotsById.remove(slot.id());
+                forgetLength(slot);
+                trimmed.add(slot.id());
+            }
+        }
+        return trimmed;
+    }
+
+    // Sorted by start time, excludeId may be null
+    public List<ShowtimeSlot> overlapping(Instant start, Instant end, Long excludeId) {
+        if (slots.isEmpty()) {
+            return List.of();
+        }
+        ShowtimeSlot from = new ShowtimeSlot(Long.MIN_VALUE, start.minus(lengths.lastKey()), start);
+        List<ShowtimeSlot> overlapping = new ArrayList<>();
+        for (ShowtimeSlot slot : slots.tailSet(from, true)) {
+            if (!slot.startTime().isBefore(end)) {
+                break;
+            }
+            if (!slot.id().equals(excludeId) && slot.overlaps(start, end)) {
+                overlapping.add(slot);
+            }
+        }
+        return overlapping;
+    }
+
+    public List<Long> ids() {
+        return List.copyOf(slotsById.keySet());
+    }
+
+    public int size() {
+        return slotsById.size();
+    }
+
+    private void forgetLength(ShowtimeSlot slot) {
+        lengths.computeIfPresent(length(slot), (length, count) -> count == 1 ? null : count - 1);
+    }
+
+    private static Duration length(ShowtimeSlot slot) {
+        return Duration.between(slot.startTime(), slot.endTime());
+    }
+}
@@ -0,0 +1,35 @@
+package com.att.tdp.popcorn_palace.theater;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class Theater {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Matched against Showtime.theater
+    @NotBlank(message = "Theater name is required")
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    @NotNull(message = "Theater capacity is required")
+    @Positive(message = "Capacity must be positive")
+    @Max(value = 100000, message = "Capacity must not exceed 100000 seats")
+    private Integer capacity;// Seats are numbered 1..capacity
+
+    // Seats are numbered row by row, front row first; null when the theater has no row layout
+    @Positive(message = "Seats per row must be positive")
+    @Max(value = 1000, message = "Seats per row must not exceed 1000")
+    private Integer seatsPerRow;
+}
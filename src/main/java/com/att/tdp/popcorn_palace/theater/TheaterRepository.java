@@ -0,0 +1,10 @@
+package com.att.tdp.popcorn_palace.theater;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TheaterRepository extends JpaRepository<Theater, Long> {
+    Optional<Theater> findByName(String name);
+    Long deleteByName(String name);
+}
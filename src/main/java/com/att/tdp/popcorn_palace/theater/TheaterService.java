@@ -0,0 +1,16 @@
+package com.att.tdp.popcorn_palace.theater;
+
+import com.att.tdp.popcorn_palace.theater.exceptions.*;
+
+import java.util.List;
+
+public interface TheaterService {
+    List<Theater> getAllTheaters();
+
+    Theater addTheater(Theater theater) throws TheaterAlreadyExistsException;
+
+    void updateTheaterByName(String theaterName, Theater newTheaterData)
+            throws InvalidTheaterNameNotFoundException, TheaterAlreadyExistsException;
+
+    void deleteTheaterByName(String theaterName) throws InvalidTheaterNameNotFoundException;
+}
@@ -0,0 +1,42 @@
+package com.att.tdp.popcorn_palace.theater;
+
+import com.att.tdp.popcorn_palace.theater.exceptions.*;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/theaters")
+public class TheatersController {
+
+    private final TheaterService theaterService;
+
+    public TheatersController(TheaterService theaterService) {
+        this.theaterService = theaterService;
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<List<Theater>> getAllTheaters() {
+        return ResponseEntity.ok(theaterService.getAllTheaters());
+    }
+
+    @PostMapping
+    public ResponseEntity<Theater> createTheater(@Valid @RequestBody Theater theater) throws TheaterAlreadyExistsException {
+        return ResponseEntity.ok(theaterService.addTheater(theater));
+    }
+
+    @PostMapping("/update/{theaterName}")
+    public ResponseEntity<Void> updateTheater(@PathVariable String theaterName, @Valid @RequestBody Theater newTheaterData)
+            throws InvalidTheaterNameNotFoundException, TheaterAlreadyExistsException {
+        theaterService.updateTheaterByName(theaterName, newTheaterData);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/{theaterName}")
+    public ResponseEntity<Void> deleteTheater(@PathVariable String theaterName) throws InvalidTheaterNameNotFoundException {
+        theaterService.deleteTheaterByName(theaterName);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.theater.exceptions;
+
+public class InvalidTheaterNameNotFoundException extends Exception {
+    public InvalidTheaterNameNotFoundException() {
+        super("Theater Name Not Found.");
+    }
+}
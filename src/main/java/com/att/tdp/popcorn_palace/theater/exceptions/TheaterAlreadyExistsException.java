@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.theater.exceptions;
+
+public class TheaterAlreadyExistsException extends Exception {
+    public TheaterAlreadyExistsException() {
+        super("A theater with this name already exists.");
+    }
+}
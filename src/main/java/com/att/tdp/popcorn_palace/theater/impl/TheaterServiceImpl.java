@@ -0,0 +1,69 @@
+package com.att.tdp.popcorn_palace.theater.impl;
+
+import com.att.tdp.popcorn_palace.booking.seat.SeatInventory;
+import com.att.tdp.popcorn_palace.theater.Theater;
+import com.att.tdp.popcorn_palace.theater.TheaterRepository;
+import com.att.tdp.popcorn_palace.theater.TheaterService;
+import com.att.tdp.popcorn_palace.theater.exceptions.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class TheaterServiceImpl implements TheaterService {
+
+    private final TheaterRepository theaterRepository;
+    private final SeatInventory seatInventory;
+
+    public TheaterServiceImpl(TheaterRepository theaterRepository, SeatInventory seatInventory) {
+        this.theaterRepository = theaterRepository;
+        this.seatInventory = seatInventory;
+    }
+
+    @Override
+    public List<Theater> getAllTheaters() {
+        return theaterRepository.findAll();
+    }
+
+    @Override
+    public Theater addTheater(Theater theater) throws TheaterAlreadyExistsException {
+        if (theaterRepository.findByName(theater.getName()).isPresent()) {
+            throw new TheaterAlreadyExistsException();
+        }
+        Theater saved = theaterRepository.save(theater);
+        // Showtimes may already run in this theater without a capacity
+        seatInventory.evictTheater(saved.getName());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void updateTheaterByName(String theaterName, Theater newTheaterData)
+            throws InvalidTheaterNameNotFoundException, TheaterAlreadyExistsException {
+        Optional<Theater> optionalTheater = theaterRepository.findByName(theaterName);
+        if (optionalTheater.isEmpty()) {
+            throw new InvalidTheaterNameNotFoundException();
+        }
+        if (!theaterName.equals(newTheaterData.getName()) && theaterRepository.findByName(newTheaterData.getName()).isPresent()) {
+            throw new TheaterAlreadyExistsException();
+        }
+        Theater theater = optionalTheater.get();
+        theater.setName(newTheaterData.getName());
+        theater.setCapacity(newTheaterData.getCapacity());
+        theater.setSeatsPerRow(newTheaterData.getSeatsPerRow());
+        theaterRepository.save(theater);
+        seatInventory.evictTheater(theaterName);
+        seatInventory.evictTheater(newTheaterData.getName());
+    }
+
+    @Override
+    @Transactional
+    public void deleteTheaterByName(String theaterName) throws InvalidTheaterNameNotFoundException {
+        theaterRepository.findByName(theaterName)
+                .orElseThrow(InvalidTheaterNameNotFoundException::new);
+        theaterRepository.deleteByName(theaterName);
+        seatInventory.evictTheater(theaterName);
+    }
+}
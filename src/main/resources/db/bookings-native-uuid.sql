@@ -0,0 +1,15 @@
+-- Moves an existing bookings table from varchar ids to native uuid columns.
+-- Ids already stored are valid UUIDs (random version 4) and keep their value;
+-- bookings created from now on get time ordered version 7 ids from the application.
+-- Run once against PostgreSQL while the application is stopped.
+BEGIN;
+
+ALTER TABLE bookings
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN user_id TYPE uuid USING user_id::uuid;
+
+-- The type change rewrites the table; rebuild the indexes compactly and refresh statistics
+REINDEX TABLE bookings;
+ANALYZE bookings;
+
+COMMIT;
@@ -0,0 +1,17 @@
+-- Moves existing movie and showtime tables from identity columns to the pooled
+-- sequences the application now allocates ids from (increment = popcorn-palace.id.allocation-size).
+-- Hibernate's pooled optimizer hands out the ids below each sequence value, so the
+-- sequences start a full block above the highest id in use.
+-- Run once against PostgreSQL while the application is stopped.
+BEGIN;
+
+ALTER TABLE movie ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE showtime ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS movie_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS showtime_seq INCREMENT BY 50;
+
+SELECT setval('movie_seq', COALESCE(MAX(id), 0) + 51, false) FROM movie;
+SELECT setval('showtime_seq', COALESCE(MAX(id), 0) + 51, false) FROM showtime;
+
+COMMIT;
@@ -0,0 +1,15 @@
+-- Lets PostgreSQL itself refuse overlapping showtimes in the same theater, whichever
+-- instance of the application writes them. Same rule as the application: showtimes that
+-- only meet within the same second do not overlap, so each showtime covers
+-- [start_time, end_time truncated to the second). The GiST index behind the constraint
+-- also serves tstzrange overlap searches.
+-- Applied by Hibernate after it creates the schema (hibernate.hbm2ddl.import_files).
+-- Run once against an existing database, after removing any overlaps it already holds.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE showtime
+    ADD CONSTRAINT showtime_no_overlap EXCLUDE USING gist (
+        theater WITH =,
+        tstzrange(start_time,
+                  date_trunc('second', end_time AT TIME ZONE 'UTC') AT TIME ZONE 'UTC') WITH &&
+    );
@@ -3,10 +3,12 @@ package com.att.tdp.popcorn_palace;
 import com.att.tdp.popcorn_palace.booking.Booking;
 import com.att.tdp.popcorn_palace.movies.Movie;
 import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.theater.Theater;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 public class EntityFactoryForTests {
 
@@ -31,11 +33,18 @@ public class EntityFactoryForTests {
         return showtime;
     }
 
+    public static Theater makeTheater(String name, Integer capacity){
+        Theater theater = new Theater();
+        theater.setName(name);
+        theater.setCapacity(capacity);
+        return theater;
+    }
+
     public static Booking makeBooking(Showtime showtime, Integer seatNumber, String userId){
         Booking booking = new Booking();
         booking.setShowtime(showtime);
         booking.setSeatNumber(seatNumber);
-        booking.setUserId(userId);
+        booking.setUserId(UUID.fromString(userId));
         return booking;
     }
 
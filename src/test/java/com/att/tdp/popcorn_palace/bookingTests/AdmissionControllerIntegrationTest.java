@@ -0,0 +1,103 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "popcorn-palace.booking.admission.enabled=true",
+        "popcorn-palace.booking.admission.rate=0.01",
+        "popcorn-palace.booking.admission.burst=2"
+})
+@AutoConfigureMockMvc
+@Transactional
+public class AdmissionControllerIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Showtime testShowtime;
+
+    @BeforeEach
+    void setup() {
+        Movie testMovie = movieRepository.save(makeMovie("Test Movie", "Action", 8.0, 120, 2023));
+        testShowtime = showtimeRepository.save(makeShowtime(
+                testMovie,
+                "Theater 1",
+                12.99,
+                Instant.now().plus(Duration.ofDays(1)),
+                Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+        ));
+    }
+
+    @Test
+    void createBooking_BeyondAdmissionRate_ReturnsTooManyRequests() throws Exception {
+        book(1).andExpect(status().isOk());
+        book(2).andExpect(status().isOk());
+
+        book(3)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(header().string("X-Queue-Position", "1"));
+    }
+
+    @Test
+    void createBooking_IdempotentReplays_DoNotUseUpAdmission() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(
+                new BookingRequest(testShowtime.getId(), 1, UUID.randomUUID().toString()));
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(post("/bookings")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("Idempotency-Key", idempotencyKey)
+                            .content(body))
+                    .andExpect(status().isOk());
+        }
+
+        book(2).andExpect(status().isOk());
+    }
+
+    @Test
+    void getAdmissionStats_AfterRejection_ReportsQueue() throws Exception {
+        book(1);
+        book(2);
+        book(3);
+
+        mockMvc.perform(get("/bookings/admission/" + testShowtime.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.queueDepth").value(2))
+                .andExpect(jsonPath("$.admitted").value(2))
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
+
+    private ResultActions book(int seatNumber) throws Exception {
+        return mockMvc.perform(post("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new BookingRequest(testShowtime.getId(), seatNumber, UUID.randomUUID().toString()))));
+    }
+}
@@ -0,0 +1,84 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.admission.AdmissionGate;
+import com.att.tdp.popcorn_palace.booking.admission.AdmissionStats;
+import com.att.tdp.popcorn_palace.booking.exception.AdmissionRejectedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionGateUnitTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    public void testAdmit_WithinBurst_AdmitsAll() {
+        AdmissionGate gate = new AdmissionGate(true, 10, 5, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> gate.admit(1L));
+        }
+    }
+
+    @Test
+    public void testAdmit_BeyondBurst_RejectsWithPositionAndRetryAfter() throws Exception {
+        AdmissionGate gate = new AdmissionGate(true, 10, 5, clock::get);
+        for (int i = 0; i < 5; i++) {
+            gate.admit(1L);
+        }
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, () -> gate.admit(1L));
+
+        assertEquals(1, rejected.getQueuePosition());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    public void testAdmit_AfterRateInterval_AdmitsAgain() throws Exception {
+        AdmissionGate gate = new AdmissionGate(true, 10, 5, clock::get);
+        for (int i = 0; i < 5; i++) {
+            gate.admit(1L);
+        }
+        assertThrows(AdmissionRejectedException.class, () -> gate.admit(1L));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertDoesNotThrow(() -> gate.admit(1L));
+    }
+
+    @Test
+    public void testAdmit_OtherShowtime_HasOwnBucket() throws Exception {
+        AdmissionGate gate = new AdmissionGate(true, 10, 1, clock::get);
+        gate.admit(1L);
+
+        assertThrows(AdmissionRejectedException.class, () -> gate.admit(1L));
+        assertDoesNotThrow(() -> gate.admit(2L));
+    }
+
+    @Test
+    public void testAdmit_Disabled_NeverRejects() {
+        AdmissionGate gate = new AdmissionGate(false, 1, 1, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertDoesNotThrow(() -> gate.admit(1L));
+        }
+    }
+
+    @Test
+    public void testStats_CountsQueueDepthAndDecisions() throws Exception {
+        AdmissionGate gate = new AdmissionGate(true, 10, 3, clock::get);
+        for (int i = 0; i < 3; i++) {
+            gate.admit(1L);
+        }
+        assertThrows(AdmissionRejectedException.class, () -> gate.admit(1L));
+
+        AdmissionStats stats = gate.stats(1L);
+
+        assertEquals(3, stats.queueDepth());
+        assertEquals(3, stats.admitted());
+        assertEquals(1, stats.rejected());
+    }
+}
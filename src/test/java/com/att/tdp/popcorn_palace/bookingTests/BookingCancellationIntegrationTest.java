@@ -0,0 +1,136 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRepository;
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.CancelSeatsRequest;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: cancelled seats are released in memory only once the delete commits
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BookingCancellationIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Movie testMovie;
+    private Showtime testShowtime;
+
+    @BeforeEach
+    void setup() {
+        testMovie = movieRepository.save(makeMovie("Cancellation Movie", "Action", 8.0, 120, 2023));
+        testShowtime = showtimeRepository.save(makeShowtime(
+                testMovie,
+                "Theater 1",
+                12.99,
+                Instant.now().plus(Duration.ofDays(1)),
+                Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+        ));
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        mockMvc.perform(post("/bookings/cancel")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new CancelSeatsRequest(testShowtime.getId(), List.of(1, 2, 3)))));
+        showtimeRepository.deleteById(testShowtime.getId());
+        movieRepository.deleteById(testMovie.getId());
+    }
+
+    @Test
+    void cancelBooking_BookedSeat_SeatIsBookableAgain() throws Exception {
+        String bookingId = bookingIdOf(book(1).andExpect(status().isOk()));
+
+        mockMvc.perform(delete("/bookings/" + bookingId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingId").value(bookingId))
+                .andExpect(jsonPath("$.showtimeId").value(testShowtime.getId()))
+                .andExpect(jsonPath("$.seatNumber").value(1));
+
+        book(1).andExpect(status().isOk());
+    }
+
+    @Test
+    void cancelBooking_AlreadyCancelled_ReturnsNotFound() throws Exception {
+        String bookingId = bookingIdOf(book(1).andExpect(status().isOk()));
+        mockMvc.perform(delete("/bookings/" + bookingId)).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/bookings/" + bookingId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cancelBooking_InvalidId_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(delete("/bookings/not-a-uuid"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cancelSeats_SomeSeatsBooked_CancelsOnlyThoseInOneGo() throws Exception {
+        book(1).andExpect(status().isOk());
+        book(2).andExpect(status().isOk());
+        book(3).andExpect(status().isOk());
+
+        mockMvc.perform(post("/bookings/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CancelSeatsRequest(testShowtime.getId(), List.of(2, 1, 7)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cancelledSeats.length()").value(2))
+                .andExpect(jsonPath("$.cancelledSeats[0]").value(1))
+                .andExpect(jsonPath("$.cancelledSeats[1]").value(2));
+
+        assertFalse(bookingRepository.existsByShowtimeIdAndSeatNumber(testShowtime.getId(), 1));
+        assertTrue(bookingRepository.existsByShowtimeIdAndSeatNumber(testShowtime.getId(), 3));
+        mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats"))
+                .andExpect(jsonPath("$.bookedSeats").value(1));
+        book(1).andExpect(status().isOk());
+    }
+
+    @Test
+    void cancelSeats_EmptySeats_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/bookings/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CancelSeatsRequest(testShowtime.getId(), List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions book(int seatNumber) throws Exception {
+        return mockMvc.perform(post("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new BookingRequest(testShowtime.getId(), seatNumber, UUID.randomUUID().toString()))));
+    }
+
+    private String bookingIdOf(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString()).get("bookingId").asText();
+    }
+}
@@ -1,11 +1,16 @@
 package com.att.tdp.popcorn_palace.bookingTests;
 
+import com.att.tdp.popcorn_palace.booking.BestAvailableRequest;
 import com.att.tdp.popcorn_palace.booking.BookingRepository;
 import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.MultiSeatBookingRequest;
 import com.att.tdp.popcorn_palace.movies.Movie;
 import com.att.tdp.popcorn_palace.movies.MovieRepository;
 import com.att.tdp.popcorn_palace.showTime.Showtime;
 import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.theater.Theater;
+import com.att.tdp.popcorn_palace.theater.TheaterRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,13 +20,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 
 import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,6 +48,7 @@ public class BookingControllerIntegrationTest {
     @Autowired private BookingRepository bookingRepository;
     @Autowired private ShowtimeRepository showtimeRepository;
     @Autowired private MovieRepository movieRepository;
+    @Autowired private TheaterRepository theaterRepository;
 
     private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
     private Movie testMovie;
@@ -236,6 +251,24 @@ public class BookingControllerIntegrationTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void createBooking_SeatBookedByAnotherWriter_ReturnsConflict() throws Exception {
+        // Load the showtime seat state before the seat is taken behind its back
+        BookingRequest request1 = new BookingRequest(testShowtime.getId(), 1, validUserId);
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request1)))
+                .andExpect(status().isOk());
+
+        bookingRepository.saveAndFlush(makeBooking(testShowtime, 2, validUserId));
+
+        BookingRequest request2 = new BookingRequest(testShowtime.getId(), 2, UUID.randomUUID().toString());
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request2)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void createBooking_MultipleDifferentSeats_ReturnsOk() throws Exception {
         // First booking
@@ -299,6 +332,288 @@ public class BookingControllerIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void createBookings_ValidRequest_ReturnsAllBookingIds() throws Exception {
+        MultiSeatBookingRequest request = new MultiSeatBookingRequest(
+                testShowtime.getId(), List.of(1, 2, 3, 4, 5), validUserId);
+
+        mockMvc.perform(post("/bookings/multi")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingIds.length()").value(5));
+
+        assertEquals(5, bookingRepository.count());
+    }
+
+    @Test
+    void createBookings_OneSeatTaken_BooksNothing() throws Exception {
+        BookingRequest single = new BookingRequest(testShowtime.getId(), 3, validUserId);
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(single)))
+                .andExpect(status().isOk());
+
+        MultiSeatBookingRequest request = new MultiSeatBookingRequest(
+                testShowtime.getId(), List.of(1, 2, 3), UUID.randomUUID().toString());
+        mockMvc.perform(post("/bookings/multi")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+
+        // Seats reserved before the conflict were given back
+        BookingRequest retry = new BookingRequest(testShowtime.getId(), 1, validUserId);
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(retry)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void createBookings_DuplicateSeats_ReturnsBadRequest() throws Exception {
+        MultiSeatBookingRequest request = new MultiSeatBookingRequest(
+                testShowtime.getId(), List.of(1, 1), validUserId);
+
+        mockMvc.perform(post("/bookings/multi")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createBookings_EmptySeats_ReturnsBadRequest() throws Exception {
+        MultiSeatBookingRequest request = new MultiSeatBookingRequest(
+                testShowtime.getId(), List.of(), validUserId);
+
+        mockMvc.perform(post("/bookings/multi")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createBookings_NonExistentShowtimeId_ReturnsNotFound() throws Exception {
+        MultiSeatBookingRequest request = new MultiSeatBookingRequest(999L, List.of(1, 2), validUserId);
+
+        mockMvc.perform(post("/bookings/multi")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void bookBestAvailable_EmptyTheater_BooksMiddleOfMiddleRow() throws Exception {
+        Showtime showtime = showtimeInLayoutTheater(50, 10);
+
+        mockMvc.perform(post("/bookings/best-available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BestAvailableRequest(showtime.getId(), 4, validUserId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.row").value(3))
+                .andExpect(jsonPath("$.seatNumbers").value(contains(24, 25, 26, 27)))
+                .andExpect(jsonPath("$.bookingIds.length()").value(4));
+
+        for (int seat = 24; seat <= 27; seat++) {
+            assertTrue(bookingRepository.existsByShowtimeIdAndSeatNumber(showtime.getId(), seat));
+        }
+    }
+
+    @Test
+    void bookBestAvailable_MiddleTaken_BooksNextBestBlock() throws Exception {
+        Showtime showtime = showtimeInLayoutTheater(15, 5);
+        // Row 2 (seats 6-10) is split, so a party of 3 goes to row 1 or 3
+        book(showtime, 8).andExpect(status().isOk());
+
+        mockMvc.perform(post("/bookings/best-available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BestAvailableRequest(showtime.getId(), 3, validUserId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.row").value(1))
+                .andExpect(jsonPath("$.seatNumbers").value(contains(2, 3, 4)));
+    }
+
+    @Test
+    void bookBestAvailable_NoAdjacentBlock_ReturnsConflict() throws Exception {
+        Showtime showtime = showtimeInLayoutTheater(6, 3);
+        book(showtime, 2).andExpect(status().isOk());
+        book(showtime, 5).andExpect(status().isOk());
+
+        mockMvc.perform(post("/bookings/best-available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BestAvailableRequest(showtime.getId(), 2, validUserId))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("No Adjacent Seats"));
+    }
+
+    @Test
+    void bookBestAvailable_TheaterWithoutLayout_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/bookings/best-available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BestAvailableRequest(testShowtime.getId(), 2, validUserId))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bookBestAvailable_PartyTooLarge_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/bookings/best-available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BestAvailableRequest(testShowtime.getId(), 21, validUserId))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Showtime showtimeInLayoutTheater(int capacity, int seatsPerRow) {
+        Theater theater = makeTheater("Layout Theater", capacity);
+        theater.setSeatsPerRow(seatsPerRow);
+        theaterRepository.save(theater);
+        return showtimeRepository.save(makeShowtime(
+                testMovie,
+                "Layout Theater",
+                12.99,
+                Instant.now().plus(Duration.ofDays(2)),
+                Instant.now().plus(Duration.ofDays(2)).plus(Duration.ofHours(2))
+        ));
+    }
+
+    private ResultActions book(Showtime showtime, int seatNumber) throws Exception {
+        return mockMvc.perform(post("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingRequest(showtime.getId(), seatNumber, validUserId))));
+    }
+
+    @Test
+    void createBooking_SameIdempotencyKey_ReplaysFirstBooking() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        String request = objectMapper.writeValueAsString(new BookingRequest(testShowtime.getId(), 1, validUserId));
+
+        String first = mockMvc.perform(post("/bookings")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/bookings")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(content().json(first));
+
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void createBooking_SameIdempotencyKeyAfterConflict_ReplaysConflict() throws Exception {
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingRequest(testShowtime.getId(), 1, UUID.randomUUID().toString()))))
+                .andExpect(status().isOk());
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        String request = objectMapper.writeValueAsString(new BookingRequest(testShowtime.getId(), 1, validUserId));
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/bookings")
+                            .header("Idempotency-Key", idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(request))
+                    .andExpect(status().isConflict());
+        }
+    }
+
+    @Test
+    void createBooking_IdempotencyKeyReusedForOtherSeat_ReturnsUnprocessableEntity() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        mockMvc.perform(post("/bookings")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(testShowtime.getId(), 1, validUserId))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/bookings")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(testShowtime.getId(), 2, validUserId))))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void createBooking_BlankIdempotencyKey_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/bookings")
+                        .header("Idempotency-Key", " ")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(testShowtime.getId(), 1, validUserId))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUserBookings_SeveralPages_ReturnsEachBookingOnceNewestFirst() throws Exception {
+        for (int seat = 1; seat <= 5; seat++) {
+            bookingRepository.save(makeBooking(testShowtime, seat, validUserId));
+        }
+        bookingRepository.saveAndFlush(makeBooking(testShowtime, 6, UUID.randomUUID().toString()));
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        Instant previous = Instant.MAX;
+        do {
+            MockHttpServletRequestBuilder request = get("/bookings")
+                    .param("userId", validUserId)
+                    .param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            for (JsonNode booking : page.get("bookings")) {
+                Instant bookedAt = Instant.parse(booking.get("bookedAt").asText());
+                assertFalse(bookedAt.isAfter(previous));
+                previous = bookedAt;
+                assertEquals(testShowtime.getId(), booking.get("showtimeId").asLong());
+                assertEquals("Theater 1", booking.get("theater").asText());
+                seen.add(booking.get("bookingId").asText());
+            }
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(5, seen.size());
+        assertEquals(5, new HashSet<>(seen).size());
+    }
+
+    @Test
+    void getUserBookings_NoBookings_ReturnsEmptyPage() throws Exception {
+        mockMvc.perform(get("/bookings").param("userId", validUserId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getUserBookings_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings").param("userId", validUserId).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUserBookings_LimitTooLarge_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings").param("userId", validUserId).param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUserBookings_MissingUserId_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void createBooking_MalformedJson_ReturnsBadRequest() throws Exception {
         String malformedJson = "{\"showtimeId\": " + testShowtime.getId() + ", \"seatNumber\": 1, \"userId\": \"" + validUserId + "\"";
@@ -0,0 +1,135 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRepository;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "popcorn-palace.booking.import.chunk-size=2")
+@AutoConfigureMockMvc
+@Transactional
+public class BookingImportIntegrationTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+
+    private Showtime testShowtime;
+    private String validUserId;
+
+    @BeforeEach
+    void setup() {
+        Movie testMovie = movieRepository.save(makeMovie("Import Movie", "Action", 8.0, 120, 2023));
+        // Sequence ids defer the insert to the flush, and the JDBC writes below do not trigger one
+        testShowtime = showtimeRepository.saveAndFlush(makeShowtime(
+                testMovie,
+                "Theater 1",
+                12.99,
+                Instant.now().plus(Duration.ofDays(1)),
+                Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+        ));
+        validUserId = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void importBookings_NdjsonValidLines_ImportsAll() throws Exception {
+        String body = line(1) + "\n" + line(2) + "\n\n" + line(3) + "\n";
+
+        mockMvc.perform(post("/bookings/import").contentType(NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.rejections").isEmpty());
+
+        for (int seat = 1; seat <= 3; seat++) {
+            assertTrue(bookingRepository.existsByShowtimeIdAndSeatNumber(testShowtime.getId(), seat));
+        }
+    }
+
+    @Test
+    void importBookings_NdjsonBadLines_ReportsEachRejection() throws Exception {
+        String body = String.join("\n",
+                line(1),
+                "{not json",
+                line(1),
+                "{\"showtimeId\": 999999, \"seatNumber\": 2, \"userId\": \"" + validUserId + "\"}",
+                "{\"showtimeId\": " + testShowtime.getId() + ", \"seatNumber\": -4, \"userId\": \"" + validUserId + "\"}",
+                line(5));
+
+        mockMvc.perform(post("/bookings/import").contentType(NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.rejections[0].line").value(2))
+                .andExpect(jsonPath("$.rejections[0].reason").value("Malformed JSON"))
+                .andExpect(jsonPath("$.rejections[1].line").value(3))
+                .andExpect(jsonPath("$.rejections[1].reason").value("Seat already booked"))
+                .andExpect(jsonPath("$.rejections[2].line").value(4))
+                .andExpect(jsonPath("$.rejections[2].reason").value("Showtime not found"))
+                .andExpect(jsonPath("$.rejections[3].line").value(5))
+                .andExpect(jsonPath("$.rejections[3].reason").value("Seat number must be positive"));
+
+        assertTrue(bookingRepository.existsByShowtimeIdAndSeatNumber(testShowtime.getId(), 5));
+    }
+
+    @Test
+    void importBookings_CsvWithHeader_ImportsRows() throws Exception {
+        String body = "showtimeId,seatNumber,userId\n"
+                + testShowtime.getId() + ",7," + validUserId + "\n"
+                + testShowtime.getId() + ",eight," + validUserId + "\n"
+                + testShowtime.getId() + ",9\n";
+
+        mockMvc.perform(post("/bookings/import").contentType(CSV).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.rejections[0].line").value(3))
+                .andExpect(jsonPath("$.rejections[1].line").value(4));
+
+        assertTrue(bookingRepository.existsByShowtimeIdAndSeatNumber(testShowtime.getId(), 7));
+    }
+
+    @Test
+    void importBookings_SeatBookedBeforeImport_RejectsLine() throws Exception {
+        mockMvc.perform(post("/bookings").contentType(MediaType.APPLICATION_JSON).content(line(4)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/bookings/import").contentType(NDJSON).content(line(4)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.rejections[0].reason").value("Seat already booked"));
+    }
+
+    @Test
+    void importBookings_UnsupportedContentType_ReturnsUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/bookings/import").contentType(MediaType.TEXT_PLAIN).content(line(1)))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private String line(int seatNumber) {
+        return "{\"showtimeId\": " + testShowtime.getId() + ", \"seatNumber\": " + seatNumber
+                + ", \"userId\": \"" + validUserId + "\"}";
+    }
+}
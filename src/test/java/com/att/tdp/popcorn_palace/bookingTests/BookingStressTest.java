@@ -0,0 +1,254 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.BookingRepository;
+import com.att.tdp.popcorn_palace.booking.impl.BookingWriter;
+import com.att.tdp.popcorn_palace.booking.seat.SeatInventory;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Fires concurrent booking attempts through the full HTTP stack on virtual threads
+// against the in-memory H2 database. Sizes can be raised with -Dstress.attempts and
+// -Dstress.seats. Not @Transactional: every attempt commits on its own.
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BookingStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingStressTest.class);
+    private static final int ATTEMPTS = Integer.getInteger("stress.attempts", 2000);
+    private static final int SEATS = Integer.getInteger("stress.seats", 250);
+    private static final int SHOWTIMES = 4;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+    @Autowired private BookingWriter bookingWriter;
+    @Autowired private SeatInventory seatInventory;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Movie testMovie;
+    private List<Showtime> testShowtimes;
+
+    @BeforeEach
+    void setup() {
+        testMovie = movieRepository.save(makeMovie("Stress Movie", "Action", 8.0, 120, 2023));
+        testShowtimes = new ArrayList<>();
+        for (int i = 0; i < SHOWTIMES; i++) {
+            Instant start = Instant.now().plus(Duration.ofDays(1 + i));
+            testShowtimes.add(showtimeRepository.save(makeShowtime(
+                    testMovie, "Stress Theater", 12.99, start, start.plus(Duration.ofHours(2)))));
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        // orphanRemoval takes the bookings along
+        testShowtimes.forEach(showtime -> showtimeRepository.deleteById(showtime.getId()));
+        movieRepository.deleteById(testMovie.getId());
+    }
+
+    @Test
+    void createBooking_SameSeatConcurrently_ExactlyOneWinner() throws Exception {
+        Showtime showtime = testShowtimes.get(0);
+        List<BookingRequest> requests = new ArrayList<>(ATTEMPTS);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            requests.add(new BookingRequest(showtime.getId(), 1, UUID.randomUUID().toString()));
+        }
+
+        Result result = fire("same seat", requests);
+
+        assertEquals(1, result.statusCount(200));
+        assertEquals(ATTEMPTS - 1, result.statusCount(409));
+        assertTrue(bookingRepository.existsByShowtimeIdAndSeatNumber(showtime.getId(), 1));
+    }
+
+    @Test
+    void createBooking_ManySeatsAndShowtimesConcurrently_OneWinnerPerSeat() throws Exception {
+        // Every seat of every showtime is wanted by two users
+        List<BookingRequest> requests = new ArrayList<>();
+        for (int round = 0; round < 2; round++) {
+            for (Showtime showtime : testShowtimes) {
+                for (int seat = 1; seat <= SEATS; seat++) {
+                    requests.add(new BookingRequest(showtime.getId(), seat, UUID.randomUUID().toString()));
+                }
+            }
+        }
+        Collections.shuffle(requests);
+
+        Result result = fire("many seats", requests);
+
+        int seatCount = SHOWTIMES * SEATS;
+        assertEquals(seatCount, result.statusCount(200));
+        assertEquals(seatCount, result.statusCount(409));
+        for (Showtime showtime : testShowtimes) {
+            for (int seat = 1; seat <= SEATS; seat++) {
+                assertEquals(1, result.winners(showtime.getId(), seat), "seat " + seat + " of showtime " + showtime.getId());
+            }
+        }
+    }
+
+    @Test
+    void createBooking_RacingWritesBehindTheInventory_ConstraintKeepsOneWinnerPerSeat() throws Exception {
+        Showtime showtime = testShowtimes.get(0);
+        // The bitmap is loaded with every seat free, then the same seats are also written
+        // straight to the database, so only unique_seat_per_showtime can settle each race
+        seatInventory.evict(showtime.getId());
+        seatInventory.find(showtime.getId());
+        Map<Integer, AtomicInteger> winners = new ConcurrentHashMap<>();
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        List<Future<Object>> tasks = new ArrayList<>();
+        List<BookingRequest> requests = new ArrayList<>();
+        for (int seat = 1; seat <= SEATS; seat++) {
+            requests.add(new BookingRequest(showtime.getId(), seat, UUID.randomUUID().toString()));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch start = new CountDownLatch(1);
+            for (BookingRequest request : requests) {
+                String body = objectMapper.writeValueAsString(request);
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    int status = mockMvc.perform(post("/bookings")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse().getStatus();
+                    statuses.computeIfAbsent(status, code -> new AtomicInteger()).incrementAndGet();
+                    if (status == 200) {
+                        winners.computeIfAbsent(request.seatNumber(), seat -> new AtomicInteger()).incrementAndGet();
+                    }
+                    return null;
+                }));
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    Optional<String> direct = bookingWriter.insert(request.showtimeId(), request.seatNumber(),
+                            UUID.randomUUID().toString());
+                    if (direct.isPresent()) {
+                        winners.computeIfAbsent(request.seatNumber(), seat -> new AtomicInteger()).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+        }
+
+        // A direct insert that failed with anything but a seat conflict fails the test here
+        for (Future<Object> task : tasks) {
+            task.get();
+        }
+        assertTrue(Set.of(200, 409).containsAll(statuses.keySet()), "Losers must get 409, got " + statuses);
+        for (int seat = 1; seat <= SEATS; seat++) {
+            assertNotNull(winners.get(seat), "seat " + seat);
+            assertEquals(1, winners.get(seat).get(), "seat " + seat);
+        }
+        assertEquals(SEATS, bookingRepository.findSeatNumbersByShowtimeId(showtime.getId()).size());
+        // A plain insert of a taken seat is refused by the constraint itself
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO bookings (id, showtime_id, seat_number, user_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                UUID.randomUUID(), showtime.getId(), 1, UUID.randomUUID(), Timestamp.from(Instant.now())));
+    }
+
+    private Result fire(String scenario, List<BookingRequest> requests) throws Exception {
+        long[] latencies = new long[requests.size()];
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> winners = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long began;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests.size(); i++) {
+                int index = i;
+                BookingRequest request = requests.get(i);
+                String body = objectMapper.writeValueAsString(request);
+                executor.submit(() -> {
+                    start.await();
+                    long sent = System.nanoTime();
+                    int status = mockMvc.perform(post("/bookings")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse().getStatus();
+                    latencies[index] = System.nanoTime() - sent;
+                    statuses.computeIfAbsent(status, code -> new AtomicInteger()).incrementAndGet();
+                    if (status == 200) {
+                        winners.computeIfAbsent(request.showtimeId() + ":" + request.seatNumber(),
+                                seat -> new AtomicInteger()).incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            began = System.nanoTime();
+            start.countDown();
+        }
+        long elapsed = System.nanoTime() - began;
+
+        Result result = new Result(statuses, winners);
+        assertEquals(requests.size(), result.statusCount(200) + result.statusCount(409),
+                "Losers must get 409, got " + statuses);
+        report(scenario, latencies, elapsed);
+        return result;
+    }
+
+    private static void report(String scenario, long[] latencies, long elapsedNanos) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        log.info(String.format("%s: %d requests in %d ms, %.0f req/s, p50 %.2f ms, p99 %.2f ms, p999 %.2f ms",
+                scenario, sorted.length, elapsedNanos / 1_000_000,
+                sorted.length / (elapsedNanos / 1e9),
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999)));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Result(Map<Integer, AtomicInteger> statuses, Map<String, AtomicInteger> winners) {
+        int statusCount(int status) {
+            AtomicInteger count = statuses.get(status);
+            return count == null ? 0 : count.get();
+        }
+
+        int winners(Long showtimeId, int seatNumber) {
+            AtomicInteger count = winners.get(showtimeId + ":" + seatNumber);
+            return count == null ? 0 : count.get();
+        }
+    }
+}
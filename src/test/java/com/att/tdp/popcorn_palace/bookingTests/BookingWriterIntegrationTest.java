@@ -0,0 +1,75 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRepository;
+import com.att.tdp.popcorn_palace.booking.impl.BookingWriter;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class BookingWriterIntegrationTest {
+
+    @Autowired private BookingWriter bookingWriter;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+
+    private Showtime testShowtime;
+    private String validUserId;
+
+    @BeforeEach
+    void setup() {
+        Movie testMovie = movieRepository.save(makeMovie("Test Movie", "Action", 8.0, 120, 2023));
+        // Sequence ids defer the insert to the flush, and the JDBC writes below do not trigger one
+        testShowtime = showtimeRepository.saveAndFlush(makeShowtime(
+                testMovie,
+                "Theater 1",
+                12.99,
+                Instant.now().plus(Duration.ofDays(1)),
+                Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+        ));
+        validUserId = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void insert_FreeSeat_ReturnsBookingId() throws Exception {
+        Optional<String> bookingId = bookingWriter.insert(testShowtime.getId(), 1, validUserId);
+
+        assertTrue(bookingId.isPresent());
+        assertEquals(7, UUID.fromString(bookingId.get()).version());
+        assertEquals(UUID.fromString(validUserId),
+                bookingRepository.findById(UUID.fromString(bookingId.get())).orElseThrow().getUserId());
+    }
+
+    @Test
+    void insert_TakenSeat_ReturnsEmpty() throws Exception {
+        bookingWriter.insert(testShowtime.getId(), 1, validUserId);
+
+        Optional<String> bookingId = bookingWriter.insert(testShowtime.getId(), 1, UUID.randomUUID().toString());
+
+        assertTrue(bookingId.isEmpty());
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void insert_NonExistentShowtime_ThrowsNotFound() {
+        assertThrows(InvalidShowtimeIdNotFoundException.class,
+                () -> bookingWriter.insert(999L, 1, validUserId));
+    }
+}
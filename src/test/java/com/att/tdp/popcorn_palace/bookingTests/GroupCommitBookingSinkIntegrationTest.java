@@ -0,0 +1,148 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRepository;
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.BookingService;
+import com.att.tdp.popcorn_palace.booking.impl.BookingSink;
+import com.att.tdp.popcorn_palace.booking.impl.BookingWriter;
+import com.att.tdp.popcorn_palace.booking.impl.GroupCommitBookingSink;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.showTime.exception.InvalidShowtimeIdNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: batches are written by the sink's own thread and transaction
+@SpringBootTest(properties = {
+        "popcorn-palace.booking.write-mode=group-commit",
+        "popcorn-palace.booking.group-commit.max-delay=PT0.02S"
+})
+public class GroupCommitBookingSinkIntegrationTest {
+
+    @Autowired private BookingSink bookingSink;
+    @Autowired private BookingService bookingService;
+    @Autowired private BookingWriter bookingWriter;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+
+    private Movie testMovie;
+    private Showtime testShowtime;
+
+    @BeforeEach
+    void setup() {
+        testMovie = movieRepository.save(makeMovie("Group Commit Movie", "Action", 8.0, 120, 2023));
+        testShowtime = showtimeRepository.save(makeShowtime(
+                testMovie,
+                "Theater 1",
+                12.99,
+                Instant.now().plus(Duration.ofDays(1)),
+                Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+        ));
+    }
+
+    @AfterEach
+    void cleanup() {
+        bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                .filter(booking -> booking.getShowtime().getId().equals(testShowtime.getId()))
+                .toList());
+        showtimeRepository.deleteById(testShowtime.getId());
+        movieRepository.deleteById(testMovie.getId());
+    }
+
+    @Test
+    void writeMode_GroupCommit_SelectsGroupCommitSink() {
+        assertInstanceOf(GroupCommitBookingSink.class, bookingSink);
+    }
+
+    @Test
+    void createBooking_ConcurrentRequests_AllWritten() throws Exception {
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int seat = 1; seat <= 40; seat++) {
+                int seatNumber = seat;
+                results.add(executor.submit(() -> bookingService.createBooking(
+                        new BookingRequest(testShowtime.getId(), seatNumber, UUID.randomUUID().toString()))));
+            }
+            for (Future<?> result : results) {
+                assertNotNull(result.get());
+            }
+        }
+
+        for (int seat = 1; seat <= 40; seat++) {
+            assertTrue(bookingRepository.existsByShowtimeIdAndSeatNumber(testShowtime.getId(), seat));
+        }
+    }
+
+    @Test
+    void write_SeatAlreadyInDatabase_CompletesEmpty() throws Exception {
+        Optional<String> first = write(testShowtime.getId(), 7).get();
+        Optional<String> second = write(testShowtime.getId(), 7).get();
+
+        assertTrue(first.isPresent());
+        assertTrue(second.isEmpty());
+    }
+
+    @Test
+    void write_MissingShowtimeInBatch_OnlyThatRequestFails() throws Exception {
+        CompletableFuture<Optional<String>> valid = write(testShowtime.getId(), 1);
+        CompletableFuture<Optional<String>> missing = write(999_999L, 1);
+
+        assertTrue(valid.get().isPresent());
+        ExecutionException failure = assertThrows(ExecutionException.class, missing::get);
+        assertInstanceOf(InvalidShowtimeIdNotFoundException.class, failure.getCause());
+    }
+
+    @Test
+    void write_DuringShutdown_EveryFutureCompletes() throws Exception {
+        GroupCommitBookingSink sink = new GroupCommitBookingSink(bookingWriter, transactionManager, 8, Duration.ofMillis(2));
+        List<CompletableFuture<Optional<String>>> writes = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<CompletableFuture<Optional<String>>>> submitted = new ArrayList<>();
+            for (int seat = 1; seat <= 200; seat++) {
+                BookingRequest request = new BookingRequest(testShowtime.getId(), seat, UUID.randomUUID().toString());
+                submitted.add(executor.submit(() -> sink.write(request)));
+            }
+            sink.shutdown();
+            for (Future<CompletableFuture<Optional<String>>> write : submitted) {
+                writes.add(write.get());
+            }
+        }
+
+        // Written before the shutdown or turned away, never left pending
+        for (CompletableFuture<Optional<String>> write : writes) {
+            try {
+                write.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        }
+    }
+
+    private CompletableFuture<Optional<String>> write(Long showtimeId, int seatNumber) {
+        return bookingSink.write(new BookingRequest(showtimeId, seatNumber, UUID.randomUUID().toString()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.hold.HierarchicalTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalTimingWheelUnitTest {
+
+    private HierarchicalTimingWheel wheel;
+
+    @BeforeEach
+    public void setUp() {
+        // 5ms ticks and 8 buckets per level, so 300ms deadlines cascade through several levels
+        wheel = new HierarchicalTimingWheel(Duration.ofMillis(5), 8, "test-wheel");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    public void testSchedule_FiresAfterDelay() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        wheel.schedule(Duration.ofMillis(300), fired::countDown);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 290);
+    }
+
+    @Test
+    public void testSchedule_PastDeadline_FiresOnNextTick() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+
+        wheel.schedule(Duration.ZERO, fired::countDown);
+
+        assertTrue(fired.await(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testCancel_NeverFires() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+
+        wheel.schedule(Duration.ofMillis(50), fired::incrementAndGet).cancel();
+
+        Thread.sleep(300);
+        assertEquals(0, fired.get());
+    }
+
+    @Test
+    public void testSchedule_ManyDeadlines_AllFireOnce() throws InterruptedException {
+        int tasks = 10_000;
+        CountDownLatch fired = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            wheel.schedule(Duration.ofMillis(10 + i % 400), fired::countDown);
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+}
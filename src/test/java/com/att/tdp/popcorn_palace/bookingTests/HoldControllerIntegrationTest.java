@@ -0,0 +1,154 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.seat.SeatInventory;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class HoldControllerIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+    @Autowired private SeatInventory seatInventory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private Showtime testShowtime;
+    private String validUserId;
+
+    @BeforeEach
+    void setup() {
+        Movie testMovie = movieRepository.save(makeMovie("Test Movie", "Action", 8.0, 120, 2023));
+
+        testShowtime = showtimeRepository.save(makeShowtime(
+                testMovie,
+                "Theater 1",
+                12.99,
+                Instant.now().plus(Duration.ofDays(1)),
+                Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+        ));
+
+        validUserId = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void createHold_ValidRequest_ReturnsHold() throws Exception {
+        mockMvc.perform(post("/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingRequest(testShowtime.getId(), 1, validUserId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.holdId").exists())
+                .andExpect(jsonPath("$.expiresAt").exists());
+    }
+
+    @Test
+    void createHold_NonExistentShowtime_ReturnsNotFound() throws Exception {
+        mockMvc.perform(post("/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(999L, 1, validUserId))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createBooking_HeldSeat_ReturnsConflict() throws Exception {
+        createHold(3);
+
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingRequest(testShowtime.getId(), 3, UUID.randomUUID().toString()))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createHold_HeldSeat_ReturnsConflict() throws Exception {
+        createHold(4);
+
+        mockMvc.perform(post("/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingRequest(testShowtime.getId(), 4, UUID.randomUUID().toString()))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createBooking_HeldSeatAfterEviction_ReturnsConflict() throws Exception {
+        String holdId = createHold(7);
+        seatInventory.evict(testShowtime.getId());
+
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingRequest(testShowtime.getId(), 7, UUID.randomUUID().toString()))))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/bookings/holds/{holdId}/confirm", holdId))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void confirmHold_ActiveHold_ReturnsBooking() throws Exception {
+        String holdId = createHold(5);
+
+        mockMvc.perform(post("/bookings/holds/{holdId}/confirm", holdId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingId").exists());
+
+        mockMvc.perform(post("/bookings/holds/{holdId}/confirm", holdId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void releaseHold_ActiveHold_FreesSeat() throws Exception {
+        String holdId = createHold(6);
+
+        mockMvc.perform(delete("/bookings/holds/{holdId}", holdId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingRequest(testShowtime.getId(), 6, validUserId))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void releaseHold_UnknownHold_ReturnsNotFound() throws Exception {
+        mockMvc.perform(delete("/bookings/holds/{holdId}", UUID.randomUUID().toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    private String createHold(int seatNumber) throws Exception {
+        String response = mockMvc.perform(post("/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingRequest(testShowtime.getId(), seatNumber, validUserId))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("holdId").asText();
+    }
+}
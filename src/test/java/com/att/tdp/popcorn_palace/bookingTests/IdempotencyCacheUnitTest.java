@@ -0,0 +1,159 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.BookingResponse;
+import com.att.tdp.popcorn_palace.booking.exception.IdempotencyCacheFullException;
+import com.att.tdp.popcorn_palace.booking.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.booking.idempotency.IdempotencyCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyCacheUnitTest {
+
+    private final BookingRequest request = new BookingRequest(1L, 1, UUID.randomUUID().toString());
+
+    @Test
+    public void testExecute_InFlightDuplicate_WaitsForFirstAttempt() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> finish = new CompletableFuture<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<BookingResponse> first = executor.submit(() -> cache.execute("key", request, () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                finish.join();
+                return new BookingResponse("booking-1");
+            }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            Future<BookingResponse> retry = executor.submit(() -> cache.execute("key", request, () -> {
+                calls.incrementAndGet();
+                return new BookingResponse("booking-2");
+            }));
+            finish.complete(null);
+
+            assertEquals("booking-1", first.get().bookingId());
+            assertEquals("booking-1", retry.get().bookingId());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testExecute_BookingError_IsReplayed() {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+        IdempotencyCache.BookingCall conflict = () -> {
+            calls.incrementAndGet();
+            throw new SeatAlreadyBookedException(1L, 1);
+        };
+
+        assertThrows(SeatAlreadyBookedException.class, () -> cache.execute("key", request, conflict));
+        assertThrows(SeatAlreadyBookedException.class, () -> cache.execute("key", request, conflict));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testExecute_UnexpectedFailure_IsNotCached() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+
+        assertThrows(IllegalStateException.class, () -> cache.execute("key", request, () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        assertEquals("booking-1", cache.execute("key", request, () -> new BookingResponse("booking-1")).bookingId());
+    }
+
+    @Test
+    public void testExecute_Error_IsNotCached() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+
+        assertThrows(StackOverflowError.class, () -> cache.execute("key", request, () -> {
+            throw new StackOverflowError();
+        }));
+
+        assertEquals("booking-1", cache.execute("key", request, () -> new BookingResponse("booking-1")).bookingId());
+    }
+
+    @Test
+    public void testExecute_StuckFirstAttempt_RetryGivesUp() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> finish = new CompletableFuture<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> cache.execute("key", request, () -> {
+                started.countDown();
+                finish.join();
+                return new BookingResponse("booking-1");
+            }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            assertThrows(IllegalStateException.class,
+                    () -> cache.execute("key", request, () -> new BookingResponse("booking-2")));
+            finish.complete(null);
+        }
+    }
+
+    @Test
+    public void testExecute_FullCache_EvictsOldestKey() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 2, Duration.ofSeconds(5));
+        cache.execute("a", request, () -> new BookingResponse("booking-a"));
+        cache.execute("b", request, () -> new BookingResponse("booking-b"));
+        cache.execute("c", request, () -> new BookingResponse("booking-c"));
+
+        assertEquals("booking-a2", cache.execute("a", request, () -> new BookingResponse("booking-a2")).bookingId());
+        assertEquals("booking-c", cache.execute("c", request, () -> new BookingResponse("booking-c2")).bookingId());
+    }
+
+    @Test
+    public void testExecute_FullOfRunningAttempts_RejectsNewKey() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 1, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> finish = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<BookingResponse> first = executor.submit(() -> cache.execute("a", request, () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                finish.join();
+                return new BookingResponse("booking-a");
+            }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            assertThrows(IdempotencyCacheFullException.class,
+                    () -> cache.execute("b", request, () -> new BookingResponse("booking-b")));
+            // The running attempt was kept, its retry still waits for it instead of booking again
+            Future<BookingResponse> retry = executor.submit(() -> cache.execute("a", request, () -> {
+                calls.incrementAndGet();
+                return new BookingResponse("booking-a2");
+            }));
+            finish.complete(null);
+
+            assertEquals("booking-a", first.get().bookingId());
+            assertEquals("booking-a", retry.get().bookingId());
+        }
+        assertEquals(1, calls.get());
+        assertEquals("booking-b", cache.execute("b", request, () -> new BookingResponse("booking-b")).bookingId());
+    }
+
+    @Test
+    public void testExecute_ExpiredKey_RunsAgain() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ZERO, 100, Duration.ofSeconds(5));
+        cache.execute("key", request, () -> new BookingResponse("booking-1"));
+
+        assertEquals("booking-2", cache.execute("key", request, () -> new BookingResponse("booking-2")).bookingId());
+    }
+}
@@ -0,0 +1,240 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.CancelSeatsRequest;
+import com.att.tdp.popcorn_palace.booking.MultiSeatBookingRequest;
+import com.att.tdp.popcorn_palace.booking.outbox.*;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the relay only sees committed outbox rows. The background relay
+// is off and the test drives relayBatch itself, on a cursor of its own.
+@SpringBootTest(properties = {
+        "popcorn-palace.booking.outbox.relay.enabled=false",
+        "popcorn-palace.booking.outbox.relay.cursor=outbox-relay-test",
+        "popcorn-palace.booking.outbox.relay.gap-timeout=PT0S"
+})
+@AutoConfigureMockMvc
+public class OutboxRelayIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private OutboxRelay outboxRelay;
+    @Autowired private OutboxCursorRepository outboxCursorRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private RecordingListener listener;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Movie testMovie;
+    private Showtime testShowtime;
+    private String validUserId;
+
+    @TestConfiguration
+    static class ListenerConfig {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements BookingEventListener {
+        private final List<BookingEvent> events = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean failNext = new AtomicBoolean();
+
+        @Override
+        public void onEvent(BookingEvent event) {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("Listener is down");
+            }
+            events.add(event);
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        testMovie = movieRepository.save(makeMovie("Outbox Movie", "Action", 8.0, 120, 2023));
+        testShowtime = showtimeRepository.save(makeShowtime(
+                testMovie,
+                "Theater 1",
+                12.99,
+                Instant.now().plus(Duration.ofDays(1)),
+                Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+        ));
+        validUserId = UUID.randomUUID().toString();
+        // Catch up with whatever earlier tests left behind
+        drain();
+        listener.events.clear();
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        mockMvc.perform(post("/bookings/cancel")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new CancelSeatsRequest(testShowtime.getId(), List.of(1, 2, 3, 4)))));
+        showtimeRepository.deleteById(testShowtime.getId());
+        movieRepository.deleteById(testMovie.getId());
+        jdbcTemplate.update("DELETE FROM booking_outbox WHERE showtime_id = ?", testShowtime.getId());
+    }
+
+    @Test
+    void relayBatch_BookAndCancel_PublishesEventsInOrder() throws Exception {
+        String bookingId = bookingIdOf(book(1).andExpect(status().isOk()));
+        mockMvc.perform(post("/bookings/multi")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new MultiSeatBookingRequest(testShowtime.getId(), List.of(2, 3), validUserId))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/bookings/" + bookingId)).andExpect(status().isOk());
+
+        assertEquals(4, outboxRelay.relayBatch());
+
+        List<BookingEvent> events = listener.events;
+        assertEquals(4, events.size());
+        assertInstanceOf(BookingCreated.class, events.get(0));
+        assertEquals(UUID.fromString(bookingId), events.get(0).bookingId());
+        assertEquals(1, events.get(0).seatNumber());
+        assertEquals(List.of(2, 3), List.of(events.get(1).seatNumber(), events.get(2).seatNumber()));
+        assertInstanceOf(BookingCancelled.class, events.get(3));
+        assertEquals(UUID.fromString(bookingId), events.get(3).bookingId());
+        assertEquals(UUID.fromString(validUserId), events.get(3).userId());
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).sequence() > events.get(i - 1).sequence());
+        }
+        assertEquals(events.get(3).sequence(), cursorPosition());
+    }
+
+    @Test
+    void relayBatch_ListenerFails_RedeliversFromPersistedCursor() throws Exception {
+        book(1).andExpect(status().isOk());
+        book(2).andExpect(status().isOk());
+        long before = cursorPosition();
+
+        listener.failNext.set(true);
+        assertEquals(0, outboxRelay.relayBatch());
+        assertEquals(before, cursorPosition());
+
+        assertEquals(2, outboxRelay.relayBatch());
+        assertEquals(List.of(1, 2), listener.events.stream().map(BookingEvent::seatNumber).toList());
+        assertEquals(listener.events.get(1).sequence(), cursorPosition());
+    }
+
+    @Test
+    void relayBatch_RejectedBookings_PublishNothing() throws Exception {
+        book(1).andExpect(status().isOk());
+        book(1).andExpect(status().isConflict());
+        // Seat 1 is taken, so the whole multi seat booking is rolled back
+        mockMvc.perform(post("/bookings/multi")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new MultiSeatBookingRequest(testShowtime.getId(), List.of(4, 1), validUserId))))
+                .andExpect(status().isConflict());
+        mockMvc.perform(delete("/bookings/" + UUID.randomUUID())).andExpect(status().isNotFound());
+
+        assertEquals(1, outboxRelay.relayBatch());
+        assertEquals(1, listener.events.size());
+        assertEquals(0, outboxRelay.relayBatch());
+    }
+
+    @Test
+    void relayBatch_RowCommitsAfterALaterRow_IsDeliveredLate() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        AtomicLong slowId = new AtomicLong();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // Takes its outbox id first, but only commits after the relay moved past it
+        Thread slow = Thread.ofVirtual().start(() -> transaction.executeWithoutResult(status -> {
+            slowId.set(outboxEventRepository.saveAndFlush(outboxRow(9)).getId());
+            inserted.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+        book(1).andExpect(status().isOk());
+
+        assertEquals(1, outboxRelay.relayBatch());
+        assertEquals(List.of(1), listener.events.stream().map(BookingEvent::seatNumber).toList());
+        // Rows other tests rolled back leave gaps too, so only the slow row's id is checked
+        assertTrue(outboxCursorRepository.findById("outbox-relay-test").orElseThrow()
+                .getPendingGaps().containsKey(slowId.get()));
+
+        commit.countDown();
+        slow.join();
+
+        assertEquals(1, outboxRelay.relayBatch());
+        assertEquals(List.of(1, 9), listener.events.stream().map(BookingEvent::seatNumber).toList());
+        assertFalse(outboxCursorRepository.findById("outbox-relay-test").orElseThrow()
+                .getPendingGaps().containsKey(slowId.get()));
+        assertEquals(0, outboxRelay.relayBatch());
+    }
+
+    private OutboxEvent outboxRow(int seatNumber) {
+        OutboxEvent row = new OutboxEvent();
+        row.setType(BookingEventType.CREATED);
+        row.setBookingId(UUID.randomUUID());
+        row.setShowtimeId(testShowtime.getId());
+        row.setSeatNumber(seatNumber);
+        row.setUserId(UUID.fromString(validUserId));
+        row.setOccurredAt(Instant.now());
+        return row;
+    }
+
+    private void drain() {
+        while (outboxRelay.relayBatch() > 0) {
+            // keep going
+        }
+    }
+
+    private long cursorPosition() {
+        return outboxCursorRepository.findById("outbox-relay-test").map(OutboxCursor::getPosition).orElse(0L);
+    }
+
+    private ResultActions book(int seatNumber) throws Exception {
+        return mockMvc.perform(post("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new BookingRequest(testShowtime.getId(), seatNumber, validUserId))));
+    }
+
+    private String bookingIdOf(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString()).get("bookingId").asText();
+    }
+}
@@ -0,0 +1,146 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRepository;
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.impl.BookingSink;
+import com.att.tdp.popcorn_palace.booking.impl.BookingWriter;
+import com.att.tdp.popcorn_palace.booking.impl.PartitionedBookingSink;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// What the partitioned sink adds on top of GroupCommitBookingSinkIntegrationTest's
+// coverage of the queued write path: routing by showtime and ordering within a lane.
+// Not @Transactional: bookings are written by the lane threads.
+@SpringBootTest(properties = {
+        "popcorn-palace.booking.write-mode=partitioned",
+        "popcorn-palace.booking.partitioned.lanes=4"
+})
+public class PartitionedBookingSinkIntegrationTest {
+
+    @Autowired private BookingSink bookingSink;
+    @Autowired private BookingWriter bookingWriter;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+
+    private Movie testMovie;
+    private final List<Showtime> testShowtimes = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        testMovie = movieRepository.save(makeMovie("Partitioned Movie", "Action", 8.0, 120, 2023));
+        // One theater each, so they do not overlap and spread over the lanes
+        for (int i = 1; i <= 6; i++) {
+            testShowtimes.add(showtimeRepository.save(makeShowtime(
+                    testMovie,
+                    "Lane Theater " + i,
+                    12.99,
+                    Instant.now().plus(Duration.ofDays(1)),
+                    Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+            )));
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        List<Long> showtimeIds = testShowtimes.stream().map(Showtime::getId).toList();
+        bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                .filter(booking -> showtimeIds.contains(booking.getShowtime().getId()))
+                .toList());
+        showtimeRepository.deleteAllById(showtimeIds);
+        movieRepository.deleteById(testMovie.getId());
+    }
+
+    @Test
+    void writeMode_Partitioned_SelectsPartitionedSink() {
+        assertInstanceOf(PartitionedBookingSink.class, bookingSink);
+    }
+
+    @Test
+    void write_SameShowtime_WrittenInArrivalOrder() throws Exception {
+        Long showtimeId = testShowtimes.get(0).getId();
+        List<CompletableFuture<Optional<String>>> writes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            writes.add(write(showtimeId, 7));
+        }
+
+        // One lane writes them one at a time, so the first one queued wins the seat
+        assertTrue(writes.get(0).get().isPresent());
+        for (CompletableFuture<Optional<String>> later : writes.subList(1, writes.size())) {
+            assertTrue(later.get().isEmpty());
+        }
+    }
+
+    @Test
+    void write_ManyShowtimes_AllRoutedAndWritten() throws Exception {
+        List<CompletableFuture<Optional<String>>> writes = new ArrayList<>();
+        for (Showtime showtime : testShowtimes) {
+            for (int seat = 1; seat <= 10; seat++) {
+                writes.add(write(showtime.getId(), seat));
+            }
+        }
+        for (CompletableFuture<Optional<String>> write : writes) {
+            assertTrue(write.get().isPresent());
+        }
+
+        for (Showtime showtime : testShowtimes) {
+            for (int seat = 1; seat <= 10; seat++) {
+                assertTrue(bookingRepository.existsByShowtimeIdAndSeatNumber(showtime.getId(), seat));
+            }
+        }
+    }
+
+    @Test
+    void write_DuringShutdown_EveryFutureCompletes() throws Exception {
+        PartitionedBookingSink sink = new PartitionedBookingSink(bookingWriter, 4);
+        List<CompletableFuture<Optional<String>>> writes = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<CompletableFuture<Optional<String>>>> submitted = new ArrayList<>();
+            for (int seat = 1; seat <= 200; seat++) {
+                BookingRequest request = new BookingRequest(
+                        testShowtimes.get(seat % testShowtimes.size()).getId(), seat, UUID.randomUUID().toString());
+                submitted.add(executor.submit(() -> sink.write(request)));
+            }
+            sink.shutdown();
+            for (Future<CompletableFuture<Optional<String>>> write : submitted) {
+                writes.add(write.get());
+            }
+        }
+
+        // Written before the shutdown or turned away, never left pending
+        for (CompletableFuture<Optional<String>> write : writes) {
+            try {
+                write.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        }
+    }
+
+    private CompletableFuture<Optional<String>> write(Long showtimeId, int seatNumber) {
+        return bookingSink.write(new BookingRequest(showtimeId, seatNumber, UUID.randomUUID().toString()));
+    }
+}
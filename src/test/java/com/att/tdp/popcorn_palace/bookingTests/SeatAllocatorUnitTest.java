@@ -0,0 +1,89 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.seat.SeatAllocator;
+import com.att.tdp.popcorn_palace.booking.seat.SeatBitmap;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatAllocatorUnitTest {
+
+    private static SeatBitmap hall(int rows, int seatsPerRow) {
+        return new SeatBitmap(rows * seatsPerRow, seatsPerRow, SeatBitmap.ChangeListener.NONE);
+    }
+
+    @Test
+    public void testBestBlock_EmptyHall_PicksMiddleOfMiddleRow() {
+        SeatBitmap bitmap = hall(5, 10);
+
+        // Row 3 holds seats 21-30
+        assertEquals(Optional.of(List.of(24, 25, 26, 27)), SeatAllocator.bestBlock(bitmap, 4));
+    }
+
+    @Test
+    public void testBestBlock_MiddleRowFull_PicksFrontNeighbourRow() {
+        SeatBitmap bitmap = hall(5, 10);
+        for (int seat = 21; seat <= 30; seat++) {
+            bitmap.tryReserve(seat);
+        }
+
+        assertEquals(Optional.of(List.of(14, 15, 16, 17)), SeatAllocator.bestBlock(bitmap, 4));
+    }
+
+    @Test
+    public void testBestBlock_MiddleTaken_ShiftsWithinRow() {
+        SeatBitmap bitmap = hall(1, 10);
+        bitmap.tryReserve(5);
+        bitmap.tryReserve(6);
+
+        // Free runs are 1-4 and 7-10, both as far from the middle
+        assertEquals(Optional.of(List.of(2, 3, 4)), SeatAllocator.bestBlock(bitmap, 3));
+    }
+
+    @Test
+    public void testBestBlock_ShortLastRow_IsUsedWhenWideEnough() {
+        // Two full rows of 10 and a last row of 3
+        SeatBitmap bitmap = new SeatBitmap(23, 10, SeatBitmap.ChangeListener.NONE);
+        for (int seat = 1; seat <= 20; seat++) {
+            bitmap.tryReserve(seat);
+        }
+
+        assertEquals(Optional.of(List.of(21, 22, 23)), SeatAllocator.bestBlock(bitmap, 3));
+        assertEquals(Optional.empty(), SeatAllocator.bestBlock(bitmap, 4));
+    }
+
+    @Test
+    public void testBestBlock_NoRunLongEnough_ReturnsEmpty() {
+        SeatBitmap bitmap = hall(3, 4);
+        for (int seat = 2; seat <= 12; seat += 2) {
+            bitmap.tryReserve(seat);
+        }
+
+        assertEquals(Optional.empty(), SeatAllocator.bestBlock(bitmap, 2));
+        assertTrue(SeatAllocator.bestBlock(bitmap, 1).isPresent());
+    }
+
+    @Test
+    public void testBestBlock_FiveHundredSeatHall_StaysUnderAMillisecond() {
+        SeatBitmap bitmap = hall(20, 25);
+        for (int seat = 1; seat <= 500; seat += 3) {
+            bitmap.tryReserve(seat);
+        }
+
+        // Warm up, then average over many calls
+        for (int i = 0; i < 10_000; i++) {
+            SeatAllocator.bestBlock(bitmap, 2);
+        }
+        int calls = 10_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            SeatAllocator.bestBlock(bitmap, 2);
+        }
+        long averageNanos = (System.nanoTime() - start) / calls;
+
+        assertTrue(averageNanos < 1_000_000, "average " + averageNanos + "ns");
+    }
+}
@@ -0,0 +1,122 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.seat.SeatBitmap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatBitmapUnitTest {
+
+    @Test
+    public void testTryReserve_FreeSeat_ReturnsTrue() {
+        SeatBitmap bitmap = new SeatBitmap();
+
+        assertTrue(bitmap.tryReserve(7));
+        assertTrue(bitmap.isTaken(7));
+        assertEquals(1, bitmap.bookedCount());
+    }
+
+    @Test
+    public void testTryReserve_TakenSeat_ReturnsFalse() {
+        SeatBitmap bitmap = new SeatBitmap();
+        bitmap.tryReserve(7);
+
+        assertFalse(bitmap.tryReserve(7));
+        assertEquals(1, bitmap.bookedCount());
+    }
+
+    @Test
+    public void testRelease_TakenSeat_FreesIt() {
+        SeatBitmap bitmap = new SeatBitmap();
+        bitmap.tryReserve(64);
+
+        assertTrue(bitmap.release(64));
+        assertFalse(bitmap.isTaken(64));
+        assertFalse(bitmap.release(64));
+        assertEquals(0, bitmap.bookedCount());
+    }
+
+    @Test
+    public void testTryReserve_SeatsAcrossPages_AreIndependent() {
+        SeatBitmap bitmap = new SeatBitmap();
+
+        assertTrue(bitmap.tryReserve(1));
+        assertTrue(bitmap.tryReserve(4097));
+        assertTrue(bitmap.tryReserve(1_000_000));
+        assertFalse(bitmap.isTaken(2));
+        assertEquals(3, bitmap.bookedCount());
+    }
+
+    @Test
+    public void testTryReserve_NegativeSeat_Throws() {
+        SeatBitmap bitmap = new SeatBitmap();
+
+        assertThrows(IllegalArgumentException.class, () -> bitmap.tryReserve(-1));
+    }
+
+    @Test
+    public void testTryReserve_ConcurrentCallers_SingleWinnerPerSeat() throws InterruptedException {
+        SeatBitmap bitmap = new SeatBitmap();
+        int threads = 16;
+        int seats = 256;
+        AtomicInteger winners = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int seat = 1; seat <= seats; seat++) {
+                    if (bitmap.tryReserve(seat)) {
+                        winners.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(seats, winners.get());
+        assertEquals(seats, bitmap.bookedCount());
+    }
+
+    @Test
+    public void testAvailable_BoundedBitmap_CountsDownToZero() {
+        SeatBitmap bitmap = new SeatBitmap(2);
+
+        assertTrue(bitmap.hasSeat(2));
+        assertFalse(bitmap.hasSeat(3));
+        bitmap.tryReserve(1);
+        bitmap.tryReserve(2);
+
+        assertEquals(0, bitmap.available());
+    }
+
+    @Test
+    public void testTaken_RangeAcrossWordsAndPages_MatchesIsTaken() {
+        SeatBitmap bitmap = new SeatBitmap();
+        int[] seats = {60, 63, 64, 65, 127, 4095, 4096, 4100};
+        for (int seat : seats) {
+            bitmap.tryReserve(seat);
+        }
+
+        BitSet taken = bitmap.taken(62, 4099);
+
+        for (int seat = 62; seat < 4099; seat++) {
+            assertEquals(bitmap.isTaken(seat), taken.get(seat - 62), "seat " + seat);
+        }
+        assertEquals(6, taken.cardinality());
+    }
+}
@@ -0,0 +1,148 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.seat.SeatChange;
+import com.att.tdp.popcorn_palace.booking.seat.SeatFeed;
+import com.att.tdp.popcorn_palace.booking.seat.SeatMapResponse;
+import com.att.tdp.popcorn_palace.booking.seat.SeatStreamEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatFeedUnitTest {
+
+    private static final Supplier<SeatMapResponse> SNAPSHOT =
+            () -> new SeatMapResponse(1L, 100, 0, "base64-bitset", "");
+
+    @Test
+    public void testSubscribe_NoLastEventId_StartsWithSnapshot() throws Exception {
+        SeatFeed feed = new SeatFeed(16, 8);
+        SeatFeed.Subscriber subscriber = feed.subscribe(null, SNAPSHOT);
+        feed.publish(5, true);
+
+        List<SeatStreamEvent> events = drain(subscriber);
+        assertEquals(List.of("snapshot", "seat"), events.stream().map(SeatStreamEvent::name).toList());
+        assertEquals(new SeatChange(5, true), events.get(1).data());
+    }
+
+    @Test
+    public void testSubscribe_RecentLastEventId_ReplaysMissedChanges() throws Exception {
+        SeatFeed feed = new SeatFeed(16, 8);
+        SeatStreamEvent snapshot = drain(feed.subscribe(null, SNAPSHOT)).get(0);
+        feed.publish(5, true);
+        feed.publish(6, true);
+        feed.publish(5, false);
+
+        List<SeatStreamEvent> events = drain(feed.subscribe(snapshot.id(), SNAPSHOT));
+        assertEquals(List.of(new SeatChange(5, true), new SeatChange(6, true), new SeatChange(5, false)),
+                events.stream().map(SeatStreamEvent::data).toList());
+    }
+
+    @Test
+    public void testSubscribe_LastEventIdOutOfRing_StartsWithSnapshot() throws Exception {
+        SeatFeed feed = new SeatFeed(4, 8);
+        SeatStreamEvent snapshot = drain(feed.subscribe(null, SNAPSHOT)).get(0);
+        for (int seat = 1; seat <= 5; seat++) {
+            feed.publish(seat, true);
+        }
+
+        List<SeatStreamEvent> events = drain(feed.subscribe(snapshot.id(), SNAPSHOT));
+        assertEquals(1, events.size());
+        assertEquals("snapshot", events.get(0).name());
+    }
+
+    @Test
+    public void testSubscribe_LastEventIdOfOtherFeed_StartsWithSnapshot() throws Exception {
+        SeatFeed other = new SeatFeed(16, 8);
+        SeatStreamEvent foreign = drain(other.subscribe(null, SNAPSHOT)).get(0);
+        SeatFeed feed = new SeatFeed(16, 8);
+        feed.publish(5, true);
+
+        assertEquals("snapshot", drain(feed.subscribe(foreign.id(), SNAPSHOT)).get(0).name());
+        assertEquals("snapshot", drain(feed.subscribe("garbage", SNAPSHOT)).get(0).name());
+    }
+
+    @Test
+    public void testPublish_SlowSubscriber_IsDroppedOthersKeepReceiving() throws Exception {
+        SeatFeed feed = new SeatFeed(16, 2);
+        SeatFeed.Subscriber slow = feed.subscribe(null, SNAPSHOT);
+        SeatFeed.Subscriber fast = feed.subscribe(null, SNAPSHOT);
+        drain(fast);
+
+        feed.publish(1, true);
+        drain(fast);
+        feed.publish(2, true);
+        List<SeatStreamEvent> received = drain(fast);
+
+        assertTrue(slow.isDropped());
+        assertFalse(fast.isDropped());
+        assertEquals(new SeatChange(2, true), received.get(0).data());
+    }
+
+    @Test
+    public void testPublish_ConcurrentPublishers_SubscriberGetsEveryChangeInOrder() throws Exception {
+        int publishers = 4;
+        int perPublisher = 500;
+        SeatFeed feed = new SeatFeed(4096, 4096);
+        SeatFeed.Subscriber subscriber = feed.subscribe(null, SNAPSHOT);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(publishers)) {
+            for (int publisher = 0; publisher < publishers; publisher++) {
+                int firstSeat = publisher * perPublisher;
+                executor.submit(() -> {
+                    for (int seat = firstSeat; seat < firstSeat + perPublisher; seat++) {
+                        feed.publish(seat, true);
+                    }
+                });
+            }
+        }
+
+        List<SeatStreamEvent> events = drain(subscriber);
+        assertEquals(1 + publishers * perPublisher, events.size());
+        long previous = -1;
+        for (SeatStreamEvent event : events) {
+            long sequence = Long.parseLong(event.id().substring(event.id().indexOf('.') + 1));
+            assertTrue(sequence > previous, "Event ids must increase");
+            previous = sequence;
+        }
+        // Each publisher's own changes arrive in the order it made them
+        for (int publisher = 0; publisher < publishers; publisher++) {
+            int firstSeat = publisher * perPublisher;
+            List<Integer> seats = events.stream()
+                    .filter(event -> event.data() instanceof SeatChange)
+                    .map(event -> ((SeatChange) event.data()).seatNumber())
+                    .filter(seat -> seat >= firstSeat && seat < firstSeat + perPublisher)
+                    .toList();
+            assertEquals(IntStream.range(firstSeat, firstSeat + perPublisher).boxed().toList(), seats);
+        }
+        assertFalse(subscriber.isDropped());
+    }
+
+    @Test
+    public void testClose_DropsEverySubscriber() {
+        SeatFeed feed = new SeatFeed(16, 8);
+        SeatFeed.Subscriber subscriber = feed.subscribe(null, SNAPSHOT);
+
+        feed.close();
+
+        assertTrue(subscriber.isDropped());
+        assertTrue(feed.isIdle());
+    }
+
+    // Changes are handed over by the feed's own thread, so this waits until it goes quiet
+    private static List<SeatStreamEvent> drain(SeatFeed.Subscriber subscriber) throws InterruptedException {
+        List<SeatStreamEvent> events = new ArrayList<>();
+        SeatStreamEvent event;
+        while ((event = subscriber.next(200, TimeUnit.MILLISECONDS)) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,171 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.seat.SeatFeeds;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.UUID;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class SeatMapControllerIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+    @Autowired private SeatFeeds seatFeeds;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Showtime testShowtime;
+
+    @BeforeEach
+    void setup() {
+        Movie testMovie = movieRepository.save(makeMovie("Test Movie", "Action", 8.0, 120, 2023));
+
+        testShowtime = showtimeRepository.save(makeShowtime(
+                testMovie,
+                "Theater 1",
+                12.99,
+                Instant.now().plus(Duration.ofDays(1)),
+                Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+        ));
+    }
+
+    @Test
+    void getSeats_NoBookings_ReturnsEmptyMap() throws Exception {
+        mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.showtimeId").value(testShowtime.getId()))
+                .andExpect(jsonPath("$.bookedSeats").value(0))
+                .andExpect(jsonPath("$.encoding").value("base64-bitset"))
+                .andExpect(jsonPath("$.seats").value(""));
+    }
+
+    @Test
+    void getSeats_AfterBooking_SeatBitIsSet() throws Exception {
+        book(3);
+        book(70);
+
+        MvcResult result = mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookedSeats").value(2))
+                .andReturn();
+
+        BitSet seats = decode(result);
+        assertTrue(seats.get(3));
+        assertTrue(seats.get(70));
+        assertEquals(2, seats.cardinality());
+    }
+
+    @Test
+    void getSeats_MatchingETag_ReturnsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getSeats_BookingAfterETag_ReturnsNewMap() throws Exception {
+        String etag = mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        book(5);
+
+        MvcResult result = mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNotEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(decode(result).get(5));
+    }
+
+    @Test
+    void getSeats_NonExistentShowtime_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/showtimes/999/seats"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getSeats_NegativeShowtimeId_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/showtimes/-1/seats"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // The test transaction never commits, so the booking must not reach subscribers
+    @Test
+    void streamSeats_BookingNotCommitted_IsNotPushed() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(stream, "event:snapshot");
+
+        book(4);
+
+        Thread.sleep(300);
+        String events = stream.getResponse().getContentAsString();
+        seatFeeds.close(testShowtime.getId());
+        assertFalse(events.contains("\"seatNumber\":4"), events);
+    }
+
+    @Test
+    void streamSeats_NonExistentShowtime_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/showtimes/999999/seats/stream"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), "Stream never contained " + expected + ": " + content);
+        return content;
+    }
+
+    private void book(int seatNumber) throws Exception {
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(
+                                testShowtime.getId(), seatNumber, UUID.randomUUID().toString()))))
+                .andExpect(status().isOk());
+    }
+
+    private BitSet decode(MvcResult result) throws Exception {
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        return BitSet.valueOf(Base64.getDecoder().decode(body.get("seats").asText()));
+    }
+}
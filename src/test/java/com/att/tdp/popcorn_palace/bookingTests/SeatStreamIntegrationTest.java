@@ -0,0 +1,122 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRepository;
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.booking.seat.SeatFeeds;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: seats are only pushed once their booking commits
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SeatStreamIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+    @Autowired private SeatFeeds seatFeeds;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Movie testMovie;
+    private Showtime testShowtime;
+
+    @BeforeEach
+    void setup() {
+        testMovie = movieRepository.save(makeMovie("Seat Stream Movie", "Action", 8.0, 120, 2023));
+        testShowtime = showtimeRepository.save(makeShowtime(
+                testMovie,
+                "Theater 1",
+                12.99,
+                Instant.now().plus(Duration.ofDays(1)),
+                Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+        ));
+    }
+
+    @AfterEach
+    void cleanup() {
+        seatFeeds.close(testShowtime.getId());
+        bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                .filter(booking -> booking.getShowtime().getId().equals(testShowtime.getId()))
+                .toList());
+        showtimeRepository.deleteById(testShowtime.getId());
+        movieRepository.deleteById(testMovie.getId());
+    }
+
+    @Test
+    void streamSeats_BookingAfterSubscribe_PushesSnapshotThenSeatEvent() throws Exception {
+        book(3);
+        MvcResult stream = mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        book(4);
+
+        String events = awaitContent(stream, "\"seatNumber\":4");
+        assertTrue(events.startsWith("id:"));
+        assertTrue(events.contains("event:snapshot"));
+        assertTrue(events.contains("\"bookedSeats\":1"));
+        assertTrue(events.contains("event:seat"));
+        assertTrue(events.contains("{\"seatNumber\":4,\"taken\":true}"));
+    }
+
+    @Test
+    void streamSeats_ResumeFromLastEventId_ReplaysMissedSeats() throws Exception {
+        MvcResult first = mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String snapshotId = awaitContent(first, "event:snapshot").lines()
+                .filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+
+        book(8);
+        book(9);
+
+        MvcResult resumed = mockMvc.perform(get("/showtimes/" + testShowtime.getId() + "/seats/stream")
+                        .header("Last-Event-ID", snapshotId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String events = awaitContent(resumed, "\"seatNumber\":9");
+        assertFalse(events.contains("event:snapshot"));
+        assertTrue(events.indexOf("\"seatNumber\":8") < events.indexOf("\"seatNumber\":9"));
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), "Stream never contained " + expected + ": " + content);
+        return content;
+    }
+
+    private void book(int seatNumber) throws Exception {
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(
+                                testShowtime.getId(), seatNumber, UUID.randomUUID().toString()))))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,41 @@
+package com.att.tdp.popcorn_palace.bookingTests;
+
+import com.att.tdp.popcorn_palace.booking.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidV7UnitTest {
+
+    @Test
+    public void testNext_HasVersionSevenAndRfcVariant() {
+        UUID id = UuidV7.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    public void testNext_EmbedsCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        // The counter may run a few milliseconds ahead under heavy load
+        assertTrue(millis >= before && millis <= after + 10);
+    }
+
+    @Test
+    public void testNext_ConsecutiveIds_AreStrictlyIncreasing() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = UuidV7.next();
+            // Compared as unsigned, the way the database orders uuid values
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+}
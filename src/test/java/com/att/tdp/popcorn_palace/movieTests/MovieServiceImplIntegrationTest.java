@@ -8,6 +8,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -152,4 +153,20 @@ public class MovieServiceImplIntegrationTest {
             movieService.deleteMovieByTitle("Non-existent Movie");
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testUpdateMovie_StaleCopy_FailsOptimisticLock() throws Exception {
+        // Arrange
+        Movie stale = makeMovie("Test Movie","Drama",4.5,120,2023);
+        stale.setId(testMovie.getId());
+        stale.setVersion(testMovie.getVersion());
+
+        // Act
+        movieService.updateMovieByTitle("Test Movie", makeMovie("Test Movie","Drama",9.0,120,2023));
+        movieRepository.flush();
+
+        // Assert
+        assertEquals(stale.getVersion() + 1, testMovie.getVersion());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> movieRepository.saveAndFlush(stale));
+    }
+}
@@ -0,0 +1,117 @@
+package com.att.tdp.popcorn_palace.showtimeTests;
+
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeBatchRequest;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// With IDENTITY keys every entity was its own INSERT statement. With pooled sequences
+// the inserts go out as JDBC batches of hibernate.jdbc.batch_size (50) rows, and one
+// sequence call covers popcorn-palace.id.allocation-size (50) ids.
+// The outbox relay is off, its polling would show up in the session factory's statement count.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "popcorn-palace.booking.outbox.relay.enabled=false"
+})
+@Transactional
+public class BulkInsertBatchingTest {
+
+    private static final int MOVIES = 100;
+    private static final int SHOWTIMES = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired private MovieRepository movieRepository;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private ShowtimeService showtimeService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void saveAll_ManyMovies_InsertsInBatches() throws Exception {
+        List<Movie> movies = new ArrayList<>(MOVIES);
+        for (int i = 0; i < MOVIES; i++) {
+            movies.add(makeMovie("Batched Movie " + i, "Drama", 7.0, 100, 2020));
+        }
+
+        long statements = measure(() -> movieRepository.saveAllAndFlush(movies));
+
+        assertTrue(movies.stream().allMatch(movie -> movie.getId() != null));
+        assertBatched(MOVIES, statements);
+    }
+
+    @Test
+    void saveAll_ManyShowtimes_InsertsInBatches() throws Exception {
+        Movie movie = movieRepository.saveAndFlush(makeMovie("Batched Showtimes Movie", "Drama", 7.0, 100, 2020));
+        Instant start = Instant.now().plus(Duration.ofDays(1));
+        List<Showtime> showtimes = new ArrayList<>(SHOWTIMES);
+        for (int i = 0; i < SHOWTIMES; i++) {
+            Instant slot = start.plus(Duration.ofHours(3L * i));
+            showtimes.add(makeShowtime(movie, "Batch Theater", 10.0, slot, slot.plus(Duration.ofHours(2))));
+        }
+
+        long statements = measure(() -> showtimeRepository.saveAllAndFlush(showtimes));
+
+        assertEquals(SHOWTIMES, showtimes.stream().map(Showtime::getId).distinct().count());
+        assertBatched(SHOWTIMES, statements);
+    }
+
+    @Test
+    void addShowtimes_WholeSchedule_OneQueryPerTheaterAndBatchedInserts() throws Exception {
+        Movie movie = movieRepository.saveAndFlush(makeMovie("Batched Schedule Movie", "Drama", 7.0, 100, 2020));
+        Instant start = Instant.now().plus(Duration.ofDays(1));
+        int theaters = 10;
+        List<Showtime> showtimes = new ArrayList<>(SHOWTIMES);
+        for (int i = 0; i < SHOWTIMES; i++) {
+            Instant slot = start.plus(Duration.ofHours(3L * (i / theaters)));
+            showtimes.add(makeShowtime(movie, "Schedule Theater " + (i % theaters), 10.0, slot, slot.plus(Duration.ofHours(2))));
+        }
+
+        long statements = measure(() ->
+                assertEquals(SHOWTIMES, showtimeService.addShowtimes(new ShowtimeBatchRequest(showtimes)).scheduled()));
+
+        // The movie lookup and one schedule load per theater on top of the inserts
+        int blocks = (SHOWTIMES + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertTrue(statements <= 2L * blocks + 4 + 1 + theaters, "Expected batched inserts, got " + statements + " statements");
+    }
+
+    private long measure(Insert insert) throws Exception {
+        statistics.clear();
+        insert.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // One statement per batch and one sequence call per allocation block, plus the pooled optimizer warm-up
+    private static void assertBatched(int rows, long statements) {
+        int blocks = (rows + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertTrue(statements <= 2L * blocks + 4, "Expected batched inserts, got " + statements + " statements");
+    }
+
+    @FunctionalInterface
+    private interface Insert {
+        void run() throws Exception;
+    }
+}
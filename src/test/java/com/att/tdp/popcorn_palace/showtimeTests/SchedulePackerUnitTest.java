@@ -0,0 +1,150 @@
+package com.att.tdp.popcorn_palace.showtimeTests;
+
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.planner.*;
+import com.att.tdp.popcorn_palace.showTime.planner.impl.BalancedPlacementScorer;
+import com.att.tdp.popcorn_palace.showTime.planner.impl.PrimeTimePlacementScorer;
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulePackerUnitTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 3, 4);
+    private static final Instant LONG_AGO = Instant.parse("2000-01-01T00:00:00Z");
+
+    private final SchedulePacker packer = new SchedulePacker(new BalancedPlacementScorer());
+
+    private static SchedulePlanRequest request(List<String> theaters, int days, LocalTime opensAt, LocalTime closesAt,
+                                               List<ScreeningTarget> movies) {
+        return new SchedulePlanRequest(theaters, FIRST_DAY, days, opensAt, closesAt, null, 15, movies);
+    }
+
+    private static List<String> theaters(int count) {
+        List<String> theaters = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            theaters.add("Screen " + i);
+        }
+        return theaters;
+    }
+
+    @Test
+    public void testPack_TwentyTheatersForAWeek_ConflictFreeWellUnderASecond() {
+        List<ScreeningTarget> movies = new ArrayList<>();
+        Map<Long, Integer> durations = new HashMap<>();
+        for (long id = 1; id <= 24; id++) {
+            movies.add(new ScreeningTarget(id, 10 + (int) id * 3, 12.5));
+            durations.put(id, 85 + (int) id * 4);
+        }
+        SchedulePlanRequest request = request(theaters(20), 7, LocalTime.of(10, 0), LocalTime.of(1, 0), movies);
+
+        long started = System.nanoTime();
+        SchedulePlan plan = packer.pack(request, ZoneOffset.UTC, durations, Map.of(), LONG_AGO);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        assertTrue(elapsed.compareTo(Duration.ofMillis(500)) < 0, "Took " + elapsed);
+
+        assertFalse(plan.showtimes().isEmpty());
+        Map<String, List<Showtime>> byTheater = plan.showtimes().stream()
+                .collect(Collectors.groupingBy(Showtime::getTheater));
+        for (List<Showtime> showtimes : byTheater.values()) {
+            showtimes.sort(Comparator.comparing(Showtime::getStartTime));
+            for (int i = 1; i < showtimes.size(); i++) {
+                assertFalse(showtimes.get(i).getStartTime().isBefore(showtimes.get(i - 1).getEndTime()));
+            }
+        }
+        for (Showtime showtime : plan.showtimes()) {
+            long minutes = Duration.between(showtime.getStartTime(), showtime.getEndTime()).toMinutes();
+            int duration = durations.get(showtime.getMovieId());
+            assertTrue(minutes >= duration && minutes <= duration + 30);
+            assertEquals(0, showtime.getStartTime().getEpochSecond() % 300);
+            LocalTime start = showtime.getStartTime().atZone(ZoneOffset.UTC).toLocalTime();
+            assertFalse(start.isBefore(LocalTime.of(10, 0)) && start.isAfter(LocalTime.of(1, 0)));
+        }
+
+        // Every screening is either planned or reported
+        Map<Long, Long> planned = plan.showtimes().stream()
+                .collect(Collectors.groupingBy(Showtime::getMovieId, Collectors.counting()));
+        Map<Long, Integer> missing = plan.unscheduled().stream()
+                .collect(Collectors.toMap(UnscheduledScreenings::movieId, UnscheduledScreenings::screenings));
+        for (ScreeningTarget target : movies) {
+            assertEquals((long) target.screenings(), planned.getOrDefault(target.movieId(), 0L) + missing.getOrDefault(target.movieId(), 0));
+        }
+    }
+
+    @Test
+    public void testPack_BookedShowtimes_AreWorkedAround() {
+        Instant bookedStart = FIRST_DAY.atTime(13, 0).toInstant(ZoneOffset.UTC);
+        ShowtimeSlot booked = new ShowtimeSlot(1L, bookedStart, bookedStart.plus(Duration.ofMinutes(150)));
+        SchedulePlanRequest request = request(List.of("Hall"), 1, LocalTime.of(10, 0), LocalTime.of(23, 0),
+                List.of(new ScreeningTarget(7L, 10, 9.0)));
+
+        SchedulePlan plan = packer.pack(request, ZoneOffset.UTC, Map.of(7L, 100), Map.of("Hall", List.of(booked)), LONG_AGO);
+
+        assertFalse(plan.showtimes().isEmpty());
+        for (Showtime showtime : plan.showtimes()) {
+            assertFalse(booked.overlaps(showtime.getStartTime(), showtime.getEndTime()));
+        }
+        // 10:00 fits before the booked showtime, the next one waits for it to end
+        assertEquals(FIRST_DAY.atTime(10, 0).toInstant(ZoneOffset.UTC), plan.showtimes().get(0).getStartTime());
+        assertEquals(booked.endTime(), plan.showtimes().get(1).getStartTime());
+    }
+
+    @Test
+    public void testPack_MoreScreeningsThanFit_ReportsUnscheduled() {
+        SchedulePlanRequest request = request(List.of("Hall"), 1, LocalTime.of(10, 0), LocalTime.of(14, 0),
+                List.of(new ScreeningTarget(7L, 5, 9.0)));
+
+        SchedulePlan plan = packer.pack(request, ZoneOffset.UTC, Map.of(7L, 105), Map.of(), LONG_AGO);
+
+        assertEquals(2, plan.showtimes().size());
+        assertEquals(List.of(new UnscheduledScreenings(7L, 3)), plan.unscheduled());
+    }
+
+    @Test
+    public void testPack_BeforeNotBefore_StartsLater() {
+        SchedulePlanRequest request = request(List.of("Hall"), 1, LocalTime.of(10, 0), LocalTime.of(23, 0),
+                List.of(new ScreeningTarget(7L, 1, 9.0)));
+        Instant notBefore = FIRST_DAY.atTime(15, 2, 30).toInstant(ZoneOffset.UTC);
+
+        SchedulePlan plan = packer.pack(request, ZoneOffset.UTC, Map.of(7L, 100), Map.of(), notBefore);
+
+        assertEquals(FIRST_DAY.atTime(15, 5).toInstant(ZoneOffset.UTC), plan.showtimes().get(0).getStartTime());
+    }
+
+    @Test
+    public void testPack_BalancedScoring_SpreadsMovieOverTheDays() {
+        // Ten 120 minute slots a day, one of them for the small movie
+        SchedulePlanRequest request = request(List.of("Hall"), 7, LocalTime.of(8, 0), LocalTime.of(4, 0),
+                List.of(new ScreeningTarget(1L, 7, 9.0), new ScreeningTarget(2L, 63, 9.0)));
+
+        SchedulePlan plan = packer.pack(request, ZoneOffset.UTC, Map.of(1L, 105, 2L, 105), Map.of(), LONG_AGO);
+
+        assertEquals(List.of(), plan.unscheduled());
+        Map<LocalDate, Long> perDay = plan.showtimes().stream()
+                .filter(showtime -> showtime.getMovieId() == 1L)
+                // Showtimes after midnight belong to the day the theater opened
+                .collect(Collectors.groupingBy(showtime -> showtime.getStartTime().minus(Duration.ofHours(8))
+                        .atZone(ZoneOffset.UTC).toLocalDate(), Collectors.counting()));
+        assertEquals(7, perDay.size());
+        assertTrue(perDay.values().stream().allMatch(count -> count == 1));
+    }
+
+    @Test
+    public void testPrimeTimeScorer_EveningSlot_FavorsBusyMovie() {
+        PlacementScorer scorer = new PrimeTimePlacementScorer();
+        ZonedDateTime afternoon = FIRST_DAY.atTime(14, 0).atZone(ZoneOffset.UTC);
+        ZonedDateTime evening = FIRST_DAY.atTime(19, 0).atZone(ZoneOffset.UTC);
+
+        double busyEvening = scorer.score(new Placement(1L, "Hall", 0, evening, 120, 0, 2, 28, 7));
+        double quietEvening = scorer.score(new Placement(2L, "Hall", 0, evening, 120, 0, 0, 7, 7));
+        double busyAfternoon = scorer.score(new Placement(1L, "Hall", 0, afternoon, 120, 0, 2, 28, 7));
+
+        assertTrue(busyEvening > quietEvening);
+        assertTrue(busyEvening > busyAfternoon);
+    }
+}
@@ -5,8 +5,13 @@ import com.att.tdp.popcorn_palace.booking.BookingRepository;
 import com.att.tdp.popcorn_palace.movies.Movie;
 import com.att.tdp.popcorn_palace.movies.MovieRepository;
 import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeBatchRequest;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeBatchResponse;
 import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeSearchPage;
 import com.att.tdp.popcorn_palace.showTime.ShowtimeService;
+import com.att.tdp.popcorn_palace.showTime.planner.SchedulePlanRequest;
+import com.att.tdp.popcorn_palace.showTime.planner.ScreeningTarget;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,12 +25,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import static com.att.tdp.popcorn_palace.EntityFactoryForTests.makeMovie;
 import static com.att.tdp.popcorn_palace.EntityFactoryForTests.makeShowtime;
 import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -71,6 +82,49 @@ public class ShowtimeControllerIntegrationTest {
                 .andExpect(jsonPath("$.price").value(15.99));
     }
 
+    @Test
+    void getShowtime_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+        // Last modified is set when the insert is written
+        showtimeRepository.flush();
+        String etag = mockMvc.perform(get("/showtimes/" + testShowtime.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals("\"" + testShowtime.getVersion() + "\"", etag);
+
+        mockMvc.perform(get("/showtimes/" + testShowtime.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getShowtime_UpdatedSinceETag_ReturnsNewVersion() throws Exception {
+        Instant start = Instant.now().plus(Duration.ofDays(5));
+        Showtime showtime = showtimeRepository.saveAndFlush(makeShowtime(testMovie, "Versioned Hall", 10.0,
+                start, start.plus(Duration.ofMinutes(100))));
+        String etag = mockMvc.perform(get("/showtimes/" + showtime.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(post("/showtimes/update/" + showtime.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(makeShowtime(testMovie, "Versioned Hall", 12.0,
+                                start, start.plus(Duration.ofMinutes(100))))))
+                .andExpect(status().isOk());
+
+        String newEtag = mockMvc.perform(get("/showtimes/" + showtime.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(12.0))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void getShowtime_IfNoneMatchUnknownId_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/showtimes/999999").header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getShowtime_NonExistentId_ReturnsNotFound() throws Exception {
         mockMvc.perform(get("/showtimes/{id}", 999L))
@@ -83,6 +137,85 @@ public class ShowtimeControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void searchShowtimes_MovieTheaterAndPrice_ReturnsMatchesInStartOrder() throws Exception {
+        Instant day = Instant.now().plus(Duration.ofDays(3)).truncatedTo(ChronoUnit.DAYS);
+        Showtime later = showtimeRepository.save(makeShowtime(testMovie, "Search Hall", 10.0,
+                day.plus(Duration.ofHours(36)), day.plus(Duration.ofHours(38))));
+        Showtime first = showtimeRepository.save(makeShowtime(testMovie, "Search Hall", 10.0,
+                day.plus(Duration.ofHours(12)), day.plus(Duration.ofHours(14))));
+        showtimeRepository.save(makeShowtime(testMovie, "Search Hall", 20.0,
+                day.plus(Duration.ofHours(15)), day.plus(Duration.ofHours(17))));
+        showtimeRepository.save(makeShowtime(testMovie, "Other Search Hall", 10.0,
+                day.plus(Duration.ofHours(12)), day.plus(Duration.ofHours(14))));
+
+        mockMvc.perform(get("/showtimes")
+                        .param("movieId", testMovie.getId().toString())
+                        .param("theater", "Search Hall")
+                        .param("maxPrice", "15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.showtimes.length()").value(2))
+                .andExpect(jsonPath("$.showtimes[0].showtimeId").value(first.getId()))
+                .andExpect(jsonPath("$.showtimes[0].movieTitle").value("Inception"))
+                .andExpect(jsonPath("$.showtimes[0].theater").value("Search Hall"))
+                .andExpect(jsonPath("$.showtimes[1].showtimeId").value(later.getId()))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+
+        mockMvc.perform(get("/showtimes")
+                        .param("theater", "Search Hall")
+                        .param("startFrom", day.plus(Duration.ofHours(13)).toString())
+                        .param("startTo", day.plus(Duration.ofHours(24)).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.showtimes.length()").value(1))
+                .andExpect(jsonPath("$.showtimes[0].price").value(20.0));
+    }
+
+    @Test
+    void searchShowtimes_WithCursor_WalksEveryPageOnce() throws Exception {
+        Movie movie = movieRepository.save(makeMovie("Paged Movie", "Drama", 7.0, 100, 2021));
+        Instant start = Instant.now().plus(Duration.ofDays(4)).truncatedTo(ChronoUnit.HOURS);
+        List<Long> expected = new ArrayList<>();
+        // Two showtimes share a start time, the id breaks the tie
+        for (int i = 0; i < 5; i++) {
+            Instant slot = start.plus(Duration.ofHours(3L * (i / 2)));
+            expected.add(showtimeRepository.save(makeShowtime(movie, "Paged Hall " + (i % 2), 9.0,
+                    slot, slot.plus(Duration.ofMinutes(110)))).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/showtimes").param("movieId", movie.getId().toString()).param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            ShowtimeSearchPage page = objectMapper.readValue(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), ShowtimeSearchPage.class);
+            page.showtimes().forEach(listing -> seen.add(listing.showtimeId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(expected.stream().sorted().toList(), seen.stream().sorted().toList());
+        assertEquals(seen.size(), seen.stream().distinct().count());
+    }
+
+    @Test
+    void searchShowtimes_InvalidParameters_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/showtimes").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/showtimes").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/showtimes").param("minPrice", "20").param("maxPrice", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/showtimes").param("startFrom", "tonight"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for startFrom"));
+    }
+
     @Test
     void createShowtime_ValidRequest_ReturnsCreated() throws Exception {
         Showtime newShowtime = makeShowtime(
@@ -202,6 +335,105 @@ public class ShowtimeControllerIntegrationTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void createShowtimes_MixedBatch_SchedulesValidOnesAndReportsTheRest() throws Exception {
+        Instant day = Instant.now().plus(Duration.ofDays(2)).truncatedTo(ChronoUnit.HOURS);
+        Showtime unknownMovie = makeShowtime(testMovie, "Batch Hall", 9.99,
+                day.plus(Duration.ofHours(20)), day.plus(Duration.ofHours(22)));
+        unknownMovie.setMovieId(999_999L);
+        List<Showtime> schedule = List.of(
+                makeShowtime(testMovie, "IMAX 1", 15.99,
+                        testShowtime.getStartTime().plus(Duration.ofMinutes(30)),
+                        testShowtime.getEndTime().plus(Duration.ofMinutes(30))),
+                makeShowtime(testMovie, "Batch Hall", 9.99, day.plus(Duration.ofHours(12)), day.plus(Duration.ofHours(14))),
+                makeShowtime(testMovie, "Batch Hall", 9.99, day.plus(Duration.ofHours(13)), day.plus(Duration.ofHours(15))),
+                makeShowtime(testMovie, "Batch Hall", 9.99, day.plus(Duration.ofHours(14)), day.plus(Duration.ofHours(16))),
+                unknownMovie,
+                makeShowtime(testMovie, "Batch Hall", 9.99, day.plus(Duration.ofHours(18)), day.plus(Duration.ofMinutes(18 * 60 + 30))),
+                makeShowtime(testMovie, "Batch Hall", 9.99, Instant.now().minus(Duration.ofDays(1)),
+                        Instant.now().minus(Duration.ofDays(1)).plus(Duration.ofHours(2)))
+        );
+
+        String body = mockMvc.perform(post("/showtimes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShowtimeBatchRequest(schedule))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scheduled").value(2))
+                .andExpect(jsonPath("$.rejected").value(5))
+                .andExpect(jsonPath("$.results.length()").value(7))
+                .andExpect(jsonPath("$.results[0].error").value(containsString("IMAX 1")))
+                .andExpect(jsonPath("$.results[2].error").value("Showtime conflicts with showtime at index 1 of this batch"))
+                .andExpect(jsonPath("$.results[4].error").value("Movie Id Not Found"))
+                .andExpect(jsonPath("$.results[5].error").value(containsString("must be between movie duration")))
+                .andExpect(jsonPath("$.results[6].error").value("Start time must be in the future"))
+                .andReturn().getResponse().getContentAsString();
+
+        ShowtimeBatchResponse response = objectMapper.readValue(body, ShowtimeBatchResponse.class);
+        for (int index : new int[]{1, 3}) {
+            Long id = response.results().get(index).showtimeId();
+            assertNotNull(id);
+            assertEquals("Batch Hall", showtimeRepository.findById(id).orElseThrow().getTheater());
+        }
+        // The batch is now part of the theater's schedule
+        mockMvc.perform(post("/showtimes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(makeShowtime(testMovie, "Batch Hall", 9.99,
+                                day.plus(Duration.ofHours(15)), day.plus(Duration.ofHours(17))))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void planShowtimes_TwoTheaters_ProposalCommitsThroughBatch() throws Exception {
+        SchedulePlanRequest request = new SchedulePlanRequest(List.of("Plan Hall 1", "Plan Hall 2"),
+                LocalDate.now(ZoneOffset.UTC).plusDays(3), 2, LocalTime.of(12, 0), LocalTime.of(23, 0), "UTC", 10,
+                List.of(new ScreeningTarget(testMovie.getId(), 6, 11.5)));
+
+        String body = mockMvc.perform(post("/showtimes/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.showtimes.length()").value(6))
+                .andExpect(jsonPath("$.showtimes[0].movieId").value(testMovie.getId()))
+                .andExpect(jsonPath("$.unscheduled").isEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        // The proposal is scheduled as it is
+        mockMvc.perform(post("/showtimes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"showtimes\":" + objectMapper.readTree(body).get("showtimes") + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scheduled").value(6))
+                .andExpect(jsonPath("$.rejected").value(0));
+
+        // Planning again works around what is now scheduled
+        mockMvc.perform(post("/showtimes/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.showtimes[0].theater").value("Plan Hall 1"))
+                .andExpect(jsonPath("$.showtimes[0].startTime").value(containsString("T15:20")));
+    }
+
+    @Test
+    void planShowtimes_UnknownMovie_ReturnsNotFound() throws Exception {
+        SchedulePlanRequest request = new SchedulePlanRequest(List.of("Plan Hall 1"),
+                LocalDate.now(ZoneOffset.UTC).plusDays(3), 1, LocalTime.of(12, 0), LocalTime.of(23, 0), null, 10,
+                List.of(new ScreeningTarget(999_999L, 2, 11.5)));
+
+        mockMvc.perform(post("/showtimes/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createShowtimes_EmptyBatch_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/showtimes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShowtimeBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void updateShowtime_ValidUpdate_ReturnsUpdated() throws Exception {
         Showtime update = makeShowtime(
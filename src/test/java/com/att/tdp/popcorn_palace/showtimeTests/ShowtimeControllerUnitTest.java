@@ -6,6 +6,7 @@ import com.att.tdp.popcorn_palace.movies.exceptions.InvalidMovieIdNotFoundExcept
 import com.att.tdp.popcorn_palace.showTime.Showtime;
 import com.att.tdp.popcorn_palace.showTime.ShowtimeController;
 import com.att.tdp.popcorn_palace.showTime.ShowtimeService;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeVersion;
 import com.att.tdp.popcorn_palace.showTime.exception.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -204,6 +206,19 @@ public class ShowtimeControllerUnitTest {
         verify(showtimeService).getShowtimeById(showtimeId);
     }
 
+    @Test
+    public void testGetShowtime_MatchingETag_NotModifiedWithoutLoading() throws Exception {
+        // Arrange
+        Long showtimeId = 1L;
+        when(showtimeService.getShowtimeVersion(showtimeId)).thenReturn(new ShowtimeVersion(3L, Instant.now()));
+
+        // Act & Assert
+        mockMvc.perform(get("/showtimes/{showtimeId}", showtimeId).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified());
+
+        verify(showtimeService, never()).getShowtimeById(showtimeId);
+    }
+
     @Test
     public void testGetShowtimeNotFound() throws Exception {
         // Arrange
@@ -0,0 +1,104 @@
+package com.att.tdp.popcorn_palace.showtimeTests;
+
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Overlap check latency against a theater with a short history and one with a long one
+// in the in-memory H2 database. The long one has 20k past showtimes so the regular build
+// stays fast; the full benchmark is run with -Dbenchmark.showtimes=1000000.
+// Rows are written over JDBC with negative ids, outside the showtime sequence.
+// Not @Transactional: the history is committed and removed again afterwards.
+@SpringBootTest
+public class ShowtimeOverlapBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowtimeOverlapBenchmarkTest.class);
+    private static final int HISTORY = Integer.getInteger("benchmark.showtimes", 20_000);
+    private static final int SHORT_HISTORY = 1_000;
+    private static final int QUERIES = 2_000;
+    private static final String SHORT_THEATER = "Benchmark Hall Short";
+    private static final String LONG_THEATER = "Benchmark Hall Long";
+
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM showtime WHERE theater IN (?, ?)", SHORT_THEATER, LONG_THEATER);
+    }
+
+    @Test
+    void findOverlappingSlots_LongHistory_StaysFlat() {
+        insertHistory(SHORT_THEATER, 1, SHORT_HISTORY);
+        insertHistory(LONG_THEATER, SHORT_HISTORY + 1, HISTORY);
+
+        long shortMedian = medianNanos(SHORT_THEATER);
+        long longMedian = medianNanos(LONG_THEATER);
+        log.info("Overlap check p50: {} past showtimes {}ns, {} past showtimes {}ns",
+                SHORT_HISTORY, shortMedian, HISTORY, longMedian);
+
+        // A scan of the whole history would be orders of magnitude slower
+        assertTrue(longMedian < shortMedian * 5 + 500_000,
+                "p50 " + longMedian + "ns against " + shortMedian + "ns");
+    }
+
+    @Test
+    void overlapQuery_UsesTheaterStartTimeIndex() {
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM showtime WHERE theater = 'x' " +
+                        "AND start_time >= TIMESTAMP WITH TIME ZONE '2030-01-01 00:00:00+00' " +
+                        "AND start_time < TIMESTAMP WITH TIME ZONE '2030-01-05 00:00:00+00' " +
+                        "AND end_time >= TIMESTAMP WITH TIME ZONE '2030-01-01 02:00:00+00'", String.class));
+
+        assertTrue(plan.toLowerCase().contains("idx_showtime_theater_start"), plan);
+    }
+
+    // Two hour showtimes every two and a quarter hours, going back from now
+    private void insertHistory(String theater, int firstId, int count) {
+        int batchSize = 10_000;
+        for (int from = 0; from < count; from += batchSize) {
+            List<Object[]> rows = new ArrayList<>(batchSize);
+            for (int i = from; i < Math.min(from + batchSize, count); i++) {
+                Instant start = now.minus(Duration.ofMinutes(135L * (i + 1)));
+                rows.add(new Object[]{-(long) (firstId + i), theater, 10.0,
+                        Timestamp.from(start), Timestamp.from(start.plus(Duration.ofHours(2)))});
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO showtime (id, theater, price, start_time, end_time) VALUES (?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    private long medianNanos(String theater) {
+        Instant start = now.plus(Duration.ofHours(1));
+        Instant end = start.plus(Duration.ofHours(2));
+        for (int i = 0; i < QUERIES; i++) {
+            assertTrue(showtimeRepository.findOverlappingSlots(theater, start, end, -1L, Limit.of(1)).isEmpty());
+        }
+        long[] samples = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long began = System.nanoTime();
+            showtimeRepository.findOverlappingSlots(theater, start, end, -1L, Limit.of(1));
+            samples[i] = System.nanoTime() - began;
+        }
+        Arrays.sort(samples);
+        return samples[QUERIES / 2];
+    }
+}
@@ -2,11 +2,14 @@ package com.att.tdp.popcorn_palace.showtimeTests;
 
 import com.att.tdp.popcorn_palace.showTime.Showtime;
 import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSlot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -23,6 +26,9 @@ public class ShowtimeRepositoryTest {
     @Autowired
     private TestEntityManager entityManager;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Showtime showtime1;
     private Showtime showtime2;
 
@@ -48,7 +54,7 @@ public class ShowtimeRepositoryTest {
     }
 
     @Test
-    public void testHasOverlappingShowtime_Overlapping() {
+    public void testFindOverlappingSlots_Overlapping() {
         // Arrange
         Showtime testShowtime = new Showtime();
         testShowtime.setMovieId(1L);
@@ -58,19 +64,20 @@ public class ShowtimeRepositoryTest {
         testShowtime.setEndTime(Instant.now().plus(1, ChronoUnit.DAYS).plus(3, ChronoUnit.HOURS));
 
         // Act
-        boolean hasOverlap = showtimeRepository.hasOverlappingShowtime(
+        boolean hasOverlap = !showtimeRepository.findOverlappingSlots(
                 testShowtime.getTheater(),
                 testShowtime.getStartTime(),
                 testShowtime.getEndTime(),
-                -1L
-        );
+                -1L,
+                Limit.unlimited()
+        ).isEmpty();
 
         // Assert
         assertTrue(hasOverlap);
     }
 
     @Test
-    public void testHasOverlappingShowtime_NotOverlapping() {
+    public void testFindOverlappingSlots_NotOverlapping() {
         // Arrange
         Showtime testShowtime = new Showtime();
         testShowtime.setMovieId(1L);
@@ -80,19 +87,20 @@ public class ShowtimeRepositoryTest {
         testShowtime.setEndTime(Instant.now().plus(2, ChronoUnit.DAYS).plus(2, ChronoUnit.HOURS));
 
         // Act
-        boolean hasOverlap = showtimeRepository.hasOverlappingShowtime(
+        boolean hasOverlap = !showtimeRepository.findOverlappingSlots(
                 testShowtime.getTheater(),
                 testShowtime.getStartTime(),
                 testShowtime.getEndTime(),
-                -1L
-        );
+                -1L,
+                Limit.unlimited()
+        ).isEmpty();
 
         // Assert
         assertFalse(hasOverlap);
     }
 
     @Test
-    public void testHasOverlappingShowtime_NotOverlappingEdge() {
+    public void testFindOverlappingSlots_NotOverlappingEdge() {
         // Arrange
         Showtime testShowtime = new Showtime();
         testShowtime.setMovieId(1L);
@@ -102,19 +110,20 @@ public class ShowtimeRepositoryTest {
         testShowtime.setEndTime(showtime2.getStartTime().minus(1,ChronoUnit.NANOS));
 
         // Act
-        boolean hasOverlap = showtimeRepository.hasOverlappingShowtime(
+        boolean hasOverlap = !showtimeRepository.findOverlappingSlots(
                 testShowtime.getTheater(),
                 testShowtime.getStartTime(),
                 testShowtime.getEndTime(),
-                -1L
-        );
+                -1L,
+                Limit.unlimited()
+        ).isEmpty();
 
         // Assert
         assertFalse(hasOverlap);
     }
 
     @Test
-    public void testHasOverlappingShowtime_NotOverlappingTheater() {
+    public void testFindOverlappingSlots_NotOverlappingTheater() {
         // Arrange
         Showtime testShowtime = new Showtime();
         testShowtime.setMovieId(1L);
@@ -124,19 +133,20 @@ public class ShowtimeRepositoryTest {
         testShowtime.setEndTime(Instant.now().plus(1, ChronoUnit.DAYS).plus(3, ChronoUnit.HOURS));
 
         // Act
-        boolean hasOverlap = showtimeRepository.hasOverlappingShowtime(
+        boolean hasOverlap = !showtimeRepository.findOverlappingSlots(
                 testShowtime.getTheater(),
                 testShowtime.getStartTime(),
                 testShowtime.getEndTime(),
-                -1L
-        );
+                -1L,
+                Limit.unlimited()
+        ).isEmpty();
 
         // Assert
         assertFalse(hasOverlap);
     }
 
     @Test
-    public void testFindOverlappingShowtimes() {
+    public void testFindOverlappingSlots() {
         // Arrange
         Showtime testShowtime = new Showtime();
         testShowtime.setMovieId(1L);
@@ -146,35 +156,37 @@ public class ShowtimeRepositoryTest {
         testShowtime.setEndTime(showtime2.getStartTime());
 
         // Act
-        List<Showtime> overlappingShowtimes = showtimeRepository.findOverlappingShowtimes(
+        List<ShowtimeSlot> overlappingShowtimes = showtimeRepository.findOverlappingSlots(
                 testShowtime.getTheater(),
                 testShowtime.getStartTime(),
                 testShowtime.getEndTime(),
-                -1L
+                -1L,
+                Limit.unlimited()
         );
     }
 
     @Test
-    public void testFindOverlappingShowtimesWithoutHimself() {
+    public void testFindOverlappingSlotsWithoutHimself() {
         // Arrange
         showtime1.setEndTime(showtime2.getEndTime());
 
         // Act
-        List<Showtime> overlappingShowtimes = showtimeRepository.findOverlappingShowtimes(
+        List<ShowtimeSlot> overlappingShowtimes = showtimeRepository.findOverlappingSlots(
                 showtime1.getTheater(),
                 showtime1.getStartTime(),
                 showtime1.getEndTime(),
-                showtime1.getId()
+                showtime1.getId(),
+                Limit.unlimited()
         );
 
         // Assert
         assertFalse(overlappingShowtimes.isEmpty());
         assertEquals(1, overlappingShowtimes.size());
-        assertEquals(showtime2.getId(), overlappingShowtimes.get(0).getId());
+        assertEquals(showtime2.getId(), overlappingShowtimes.get(0).id());
     }
 
     @Test
-    public void testFindOverlappingShowtimeDifferentTheater() {
+    public void testFindOverlappingSlotsDifferentTheater() {
         // Arrange
         Showtime testShowtime = new Showtime();
         testShowtime.setMovieId(1L);
@@ -184,11 +196,12 @@ public class ShowtimeRepositoryTest {
         testShowtime.setEndTime(showtime2.getStartTime().plus(15,ChronoUnit.MINUTES));
 
         // Act
-        List<Showtime> overlappingShowtimes = showtimeRepository.findOverlappingShowtimes(
+        List<ShowtimeSlot> overlappingShowtimes = showtimeRepository.findOverlappingSlots(
                 testShowtime.getTheater(),
                 testShowtime.getStartTime(),
                 testShowtime.getEndTime(),
-                -1L
+                -1L,
+                Limit.unlimited()
         );
 
         // Assert
@@ -196,17 +209,38 @@ public class ShowtimeRepositoryTest {
     }
 
     @Test
-    public void testHasOverlappingShowtime_OverlappingHimself() {
+    public void testFindOverlappingSlots_OverlappingHimself() {
 
         // Act
-        boolean hasOverlap = showtimeRepository.hasOverlappingShowtime(
+        boolean hasOverlap = !showtimeRepository.findOverlappingSlots(
                 showtime1.getTheater(),
                 showtime1.getStartTime(),
                 showtime1.getEndTime(),
-                showtime1.getId()
-        );
+                showtime1.getId(),
+                Limit.unlimited()
+        ).isEmpty();
 
         // Assert
         assertFalse(hasOverlap);
     }
+
+    @Test
+    public void testSearchQuery_ByMovie_UsesMovieStartTimeIndex() {
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM showtime WHERE movie_id = 1 " +
+                        "AND start_time >= TIMESTAMP WITH TIME ZONE '2030-01-01 00:00:00+00' " +
+                        "ORDER BY start_time, id", String.class));
+
+        assertTrue(plan.toLowerCase().contains("idx_showtime_movie_start"), plan);
+    }
+
+    @Test
+    public void testSearchQuery_NoFilter_UsesStartTimeIndex() {
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM showtime " +
+                        "WHERE start_time >= TIMESTAMP WITH TIME ZONE '2030-01-01 00:00:00+00' " +
+                        "ORDER BY start_time, id", String.class));
+
+        assertTrue(plan.toLowerCase().contains("idx_showtime_start"), plan);
+    }
 }
@@ -0,0 +1,142 @@
+package com.att.tdp.popcorn_palace.showtimeTests;
+
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeService;
+import com.att.tdp.popcorn_palace.showTime.exception.ShowtimeOverlapException;
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSchedule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.makeMovie;
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.makeShowtime;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+// Not @Transactional: every addShowtime commits on its own, like concurrent requests do
+@SpringBootTest(properties = "popcorn-palace.showtime.schedule.lock-timeout=PT0.2S")
+public class ShowtimeScheduleConcurrencyTest {
+
+    private static final String THEATER = "Schedule Race Hall";
+
+    @Autowired private ShowtimeService showtimeService;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+    @Autowired private ShowtimeSchedule showtimeSchedule;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Movie testMovie;
+    private final List<Long> created = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        testMovie = movieRepository.save(makeMovie("Race Movie", "Action", 7.0, 100, 2024));
+    }
+
+    @AfterEach
+    void cleanup() {
+        created.forEach(showtimeRepository::deleteById);
+        movieRepository.deleteById(testMovie.getId());
+    }
+
+    @Test
+    void addShowtime_ConcurrentOverlappingRequests_OnlyOneIsScheduled() throws Exception {
+        Instant start = Instant.now().plus(Duration.ofDays(3)).truncatedTo(ChronoUnit.HOURS);
+        int requests = 16;
+        CountDownLatch ready = new CountDownLatch(1);
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            // Each request is shifted by a few minutes, all of them overlap each other
+            Instant shiftedStart = start.plus(Duration.ofMinutes(i));
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    ready.await();
+                    Showtime showtime = showtimeService.addShowtime(makeShowtime(testMovie, THEATER, 11.0,
+                            shiftedStart, shiftedStart.plus(Duration.ofMinutes(110))));
+                    created.add(showtime.getId());
+                } catch (ShowtimeOverlapException e) {
+                    conflicts.incrementAndGet();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+
+        ready.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, created.size());
+        assertEquals(requests - 1, conflicts.get());
+    }
+
+    @Test
+    void addShowtime_BackToBackSlots_AreAllScheduled() throws Exception {
+        Instant start = Instant.now().plus(Duration.ofDays(4)).truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i < 5; i++) {
+            Instant slotStart = start.plus(Duration.ofMinutes(120L * i));
+            created.add(showtimeService.addShowtime(makeShowtime(testMovie, THEATER, 11.0,
+                    slotStart, slotStart.plus(Duration.ofMinutes(120)))).getId());
+        }
+
+        assertEquals(5, created.size());
+    }
+
+    @Test
+    void lock_TheatersInOppositeOrder_OneTransactionGivesUp() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CyclicBarrier bothLocked = new CyclicBarrier(2);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        AtomicInteger completed = new AtomicInteger();
+
+        Thread inOrder = Thread.ofVirtual().start(() ->
+                lockBoth(transaction, bothLocked, "Lock Hall A", "Lock Hall B", completed, failures));
+        Thread outOfOrder = Thread.ofVirtual().start(() ->
+                lockBoth(transaction, bothLocked, "Lock Hall B", "Lock Hall A", completed, failures));
+        inOrder.join();
+        outOfOrder.join();
+
+        // The one going against name order times out instead of deadlocking
+        assertEquals(1, completed.get());
+        assertEquals(1, failures.size());
+        assertInstanceOf(CannotAcquireLockException.class, failures.get(0));
+    }
+
+    private void lockBoth(TransactionTemplate transaction, CyclicBarrier bothLocked, String first, String second,
+                          AtomicInteger completed, List<Throwable> failures) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                showtimeSchedule.lock(first);
+                try {
+                    bothLocked.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                showtimeSchedule.lock(second);
+            });
+            completed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failures.add(e);
+        }
+    }
+}
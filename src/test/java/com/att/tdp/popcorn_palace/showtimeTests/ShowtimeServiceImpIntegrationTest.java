@@ -292,6 +292,20 @@ public class ShowtimeServiceImpIntegrationTest {
         });
     }
 
+    @Test
+    void updateShowtime_MoveToOtherTheater_FreesTheOldSlot() throws Exception {
+        Showtime moved = makeShowtime(testMovie, "Screen 4", 18.99,
+                baseShowtime.getStartTime(), baseShowtime.getEndTime());
+        showtimeService.updateShowtime(moved, baseShowtime.getId());
+
+        Showtime replacement = showtimeService.addShowtime(makeShowtime(testMovie, "IMAX 2", 15.00,
+                baseShowtime.getStartTime(), baseShowtime.getEndTime()));
+        assertNotNull(replacement.getId());
+
+        assertThrows(ShowtimeOverlapException.class, () -> showtimeService.addShowtime(makeShowtime(testMovie,
+                "Screen 4", 15.00, baseShowtime.getStartTime(), baseShowtime.getEndTime())));
+    }
+
     @Test
     void deleteShowtime_success() throws InvalidShowtimeIdNotFoundException {
         showtimeService.deleteShowtime(baseShowtime.getId());
@@ -1,21 +1,29 @@
 package com.att.tdp.popcorn_palace.showtimeTests;
 
+import com.att.tdp.popcorn_palace.booking.seat.SeatInventory;
 import com.att.tdp.popcorn_palace.movies.Movie;
 import com.att.tdp.popcorn_palace.movies.MovieRepository;
 import com.att.tdp.popcorn_palace.movies.exceptions.InvalidMovieIdNotFoundException;
 import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeBatchRequest;
 import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.showTime.exception.*;
 import com.att.tdp.popcorn_palace.showTime.impl.ShowtimeServiceImpl;
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSchedule;
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSlot;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
@@ -33,6 +41,15 @@ public class ShowtimeServiceImplUnitTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private ShowtimeSchedule showtimeSchedule;
+
+    @Mock
+    private Validator validator;
+
     @InjectMocks
     private ShowtimeServiceImpl showtimeService;
 
@@ -78,7 +95,7 @@ public class ShowtimeServiceImplUnitTest {
     @Test
     public void testAddShowtime_Success() throws Exception {
         // Arrange
-        when(showtimeRepository.hasOverlappingShowtime(any(), any(), any(), any())).thenReturn(false);
+        when(showtimeSchedule.findOverlapping(any(), any(), any(), any())).thenReturn(List.of());
         when(showtimeRepository.save(any())).thenReturn(showtime);
         when(movieRepository.findById(movie.getId())).thenReturn(Optional.of(movie));
 
@@ -105,7 +122,8 @@ public class ShowtimeServiceImplUnitTest {
     public void testAddShowtime_OverlappingShowtime() {
         // Arrange
         when(movieRepository.findById(movie.getId())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.hasOverlappingShowtime(any(), any(), any(), any())).thenReturn(true);
+        when(showtimeSchedule.findOverlapping(any(), any(), any(), any()))
+                .thenReturn(List.of(new ShowtimeSlot(2L, showtime.getStartTime(), showtime.getEndTime())));
 
         // Act & Assert
         assertThrows(ShowtimeOverlapException.class, () -> {
@@ -113,6 +131,26 @@ public class ShowtimeServiceImplUnitTest {
         });
     }
 
+    @Test
+    public void testAddShowtimes_ConcurrentOverlapInOneTheater_ReportsThatTheater() {
+        // Arrange
+        Showtime other = makeShowtime(movie, "Other Theater", 10.0, showtime.getStartTime(), showtime.getEndTime());
+        when(movieRepository.findAllById(any())).thenReturn(List.of(movie));
+        doThrow(new DataIntegrityViolationException("could not execute batch", new SQLException(
+                "ERROR: conflicting key value violates exclusion constraint \"showtime_no_overlap\"\n"
+                        + "  Detail: Key (theater, tstzrange(start_time, end_time))=(Test Theater, [\"2030-01-01\",)) "
+                        + "conflicts with existing key (theater, tstzrange(start_time, end_time))=(Test Theater, [)).",
+                "23P01")))
+                .when(showtimeRepository).flush();
+
+        // Act
+        ShowtimeOverlapException e = assertThrows(ShowtimeOverlapException.class,
+                () -> showtimeService.addShowtimes(new ShowtimeBatchRequest(List.of(other, showtime))));
+
+        // Assert
+        assertEquals("Showtime conflicts with a showtime written concurrently in Test Theater", e.getMessage());
+    }
+
     @Test
     public void testAddShowtime_EndTimeBeforeStartTime() {
         // Arrange
@@ -168,7 +206,7 @@ public class ShowtimeServiceImplUnitTest {
 
         when(showtimeRepository.findById(showtimeId)).thenReturn(Optional.of(showtime));
         when(movieRepository.findById(movie.getId())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.hasOverlappingShowtime(any(), any(), any(), any())).thenReturn(false);
+        when(showtimeSchedule.findOverlapping(any(), any(), any(), any())).thenReturn(List.of());
 
         // Act
         showtimeService.updateShowtime(updatedShowtime, showtimeId);
@@ -241,7 +279,8 @@ public class ShowtimeServiceImplUnitTest {
         // Mock the repository calls
         when(showtimeRepository.findById(showtimeId)).thenReturn(Optional.of(showtime));
         when(movieRepository.findById(movie.getId())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.hasOverlappingShowtime(any(), any(), any(), any())).thenReturn(true);
+        when(showtimeSchedule.findOverlapping(any(), any(), any(), any()))
+                .thenReturn(List.of(new ShowtimeSlot(2L, showtime.getStartTime(), showtime.getEndTime())));
 
         // Act & Assert
         assertThrows(ShowtimeOverlapException.class, () -> {
@@ -261,7 +300,7 @@ public class ShowtimeServiceImplUnitTest {
         // Mock the repository calls
         when(showtimeRepository.findById(showtimeId)).thenReturn(Optional.of(showtime));
         when(movieRepository.findById(movie.getId())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.hasOverlappingShowtime(any(), any(), any(), any())).thenReturn(false);
+        when(showtimeSchedule.findOverlapping(any(), any(), any(), any())).thenReturn(List.of());
 
         // Act
         showtimeService.updateShowtime(updatedShowtime, showtimeId);
@@ -0,0 +1,113 @@
+package com.att.tdp.popcorn_palace.showtimeTests;
+
+import com.att.tdp.popcorn_palace.showTime.schedule.ShowtimeSlot;
+import com.att.tdp.popcorn_palace.showTime.schedule.TheaterSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TheaterScheduleUnitTest {
+
+    private static final Instant NOON = Instant.parse("2030-01-01T12:00:00Z");
+
+    private static ShowtimeSlot slot(long id, int startMinutes, int lengthMinutes) {
+        Instant start = NOON.plus(Duration.ofMinutes(startMinutes));
+        return new ShowtimeSlot(id, start, start.plus(Duration.ofMinutes(lengthMinutes)));
+    }
+
+    private static List<Long> ids(List<ShowtimeSlot> slots) {
+        return slots.stream().map(ShowtimeSlot::id).toList();
+    }
+
+    @Test
+    public void testOverlapping_ReturnsEveryConflictInStartOrder() {
+        TheaterSchedule schedule = new TheaterSchedule();
+        schedule.put(slot(3, 300, 120));
+        schedule.put(slot(1, 0, 120));
+        schedule.put(slot(2, 150, 120));
+
+        assertEquals(List.of(1L, 2L), ids(schedule.overlapping(NOON.plus(Duration.ofMinutes(100)),
+                NOON.plus(Duration.ofMinutes(200)), null)));
+        assertEquals(List.of(), schedule.overlapping(NOON.plus(Duration.ofMinutes(120)),
+                NOON.plus(Duration.ofMinutes(150)), null));
+    }
+
+    @Test
+    public void testOverlapping_LongShowtimeStartingEarly_IsFound() {
+        TheaterSchedule schedule = new TheaterSchedule();
+        schedule.put(slot(1, 0, 600));
+        schedule.put(slot(2, 700, 60));
+
+        assertEquals(List.of(1L), ids(schedule.overlapping(NOON.plus(Duration.ofMinutes(500)),
+                NOON.plus(Duration.ofMinutes(550)), null)));
+    }
+
+    @Test
+    public void testOverlapping_TouchingWithinTheSameSecond_DoesNotConflict() {
+        TheaterSchedule schedule = new TheaterSchedule();
+        Instant end = NOON.plus(Duration.ofMinutes(120)).plusMillis(800);
+        schedule.put(new ShowtimeSlot(1L, NOON, end));
+
+        assertEquals(List.of(), schedule.overlapping(end.minusMillis(500), end.plus(Duration.ofHours(2)), null));
+        assertEquals(List.of(1L), ids(schedule.overlapping(end.minusSeconds(1), end.plus(Duration.ofHours(2)), null)));
+    }
+
+    @Test
+    public void testOverlapping_ExcludedShowtime_IsSkipped() {
+        TheaterSchedule schedule = new TheaterSchedule();
+        schedule.put(slot(1, 0, 120));
+
+        assertEquals(List.of(), schedule.overlapping(NOON, NOON.plus(Duration.ofMinutes(60)), 1L));
+    }
+
+    @Test
+    public void testPut_SameIdAgain_ReplacesTheSlot() {
+        TheaterSchedule schedule = new TheaterSchedule();
+        schedule.put(slot(1, 0, 120));
+        schedule.put(slot(1, 300, 120));
+
+        assertEquals(1, schedule.size());
+        assertEquals(List.of(), schedule.overlapping(NOON, NOON.plus(Duration.ofMinutes(60)), null));
+        assertTrue(schedule.remove(1L));
+        assertFalse(schedule.remove(1L));
+        assertEquals(0, schedule.size());
+    }
+
+    @Test
+    public void testTrim_DropsShowtimesThatEndedAndShrinksTheLookBack() {
+        TheaterSchedule schedule = new TheaterSchedule(NOON);
+        schedule.put(slot(1, 0, 600));
+        schedule.put(slot(2, 700, 60));
+        schedule.put(slot(3, 800, 120));
+
+        assertEquals(List.of(1L), schedule.trim(NOON.plus(Duration.ofMinutes(650))));
+
+        assertEquals(2, schedule.size());
+        assertFalse(schedule.covers(NOON.plus(Duration.ofMinutes(600))));
+        assertTrue(schedule.covers(NOON.plus(Duration.ofMinutes(650))));
+        // The ten hour showtime is gone, lookups only reach back two hours now
+        assertEquals(List.of(3L), ids(schedule.overlapping(NOON.plus(Duration.ofMinutes(850)),
+                NOON.plus(Duration.ofMinutes(860)), null)));
+        assertEquals(List.of(), schedule.trim(NOON.plus(Duration.ofMinutes(650))));
+    }
+
+    @Test
+    public void testRemove_LongestShowtime_LookupsStillFindTheOthers() {
+        TheaterSchedule schedule = new TheaterSchedule();
+        schedule.put(slot(1, 0, 600));
+        schedule.put(slot(2, 700, 120));
+        schedule.put(slot(3, 900, 60));
+
+        assertTrue(schedule.remove(1L));
+
+        assertEquals(List.of(2L), ids(schedule.overlapping(NOON.plus(Duration.ofMinutes(810)),
+                NOON.plus(Duration.ofMinutes(820)), null)));
+        assertTrue(schedule.remove(2L));
+        assertTrue(schedule.remove(3L));
+        assertEquals(List.of(), schedule.overlapping(NOON, NOON.plus(Duration.ofDays(1)), null));
+    }
+}
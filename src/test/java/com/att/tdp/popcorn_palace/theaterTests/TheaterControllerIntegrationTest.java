@@ -0,0 +1,174 @@
+package com.att.tdp.popcorn_palace.theaterTests;
+
+import com.att.tdp.popcorn_palace.booking.BookingRequest;
+import com.att.tdp.popcorn_palace.movies.Movie;
+import com.att.tdp.popcorn_palace.movies.MovieRepository;
+import com.att.tdp.popcorn_palace.showTime.Showtime;
+import com.att.tdp.popcorn_palace.showTime.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.theater.Theater;
+import com.att.tdp.popcorn_palace.theater.TheaterRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.att.tdp.popcorn_palace.EntityFactoryForTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class TheaterControllerIntegrationTest {
+    @Autowired private MockMvc mockMvc;
+    @Autowired private TheaterRepository theaterRepository;
+    @Autowired private ShowtimeRepository showtimeRepository;
+    @Autowired private MovieRepository movieRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Theater testTheater;
+
+    @BeforeEach
+    void setup() {
+        testTheater = theaterRepository.save(makeTheater("Small Hall", 2));
+    }
+
+    @Test
+    void getAllTheaters_ReturnsTheatersList() throws Exception {
+        theaterRepository.save(makeTheater("Big Hall", 500));
+
+        mockMvc.perform(get("/theaters/all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void createTheater_ValidTheater_ReturnsTheater() throws Exception {
+        mockMvc.perform(post("/theaters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(makeTheater("Big Hall", 500))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.name").value("Big Hall"))
+                .andExpect(jsonPath("$.capacity").value(500));
+    }
+
+    @Test
+    void createTheater_DuplicateName_ReturnsConflict() throws Exception {
+        mockMvc.perform(post("/theaters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(makeTheater("Small Hall", 10))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createTheater_ZeroCapacity_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/theaters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(makeTheater("Big Hall", 0))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTheater_EmptyName_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/theaters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(makeTheater("", 10))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateTheater_ValidUpdate_ChangesCapacity() throws Exception {
+        mockMvc.perform(post("/theaters/update/{theaterName}", "Small Hall")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(makeTheater("Small Hall", 3))))
+                .andExpect(status().isOk());
+
+        assertEquals(3, theaterRepository.findByName("Small Hall").orElseThrow().getCapacity());
+    }
+
+    @Test
+    void updateTheater_NonExistentName_ReturnsNotFound() throws Exception {
+        mockMvc.perform(post("/theaters/update/{theaterName}", "None")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(makeTheater("None", 3))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteTheater_ExistingName_RemovesTheater() throws Exception {
+        mockMvc.perform(delete("/theaters/{theaterName}", "Small Hall"))
+                .andExpect(status().isOk());
+
+        assertTrue(theaterRepository.findByName("Small Hall").isEmpty());
+    }
+
+    @Test
+    void deleteTheater_NonExistentName_ReturnsNotFound() throws Exception {
+        mockMvc.perform(delete("/theaters/{theaterName}", "None"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createBooking_SeatOutsideTheater_ReturnsBadRequest() throws Exception {
+        Showtime showtime = makeShowtimeInTestTheater();
+
+        book(showtime, 3)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createBooking_SoldOutShowtime_ReturnsConflict() throws Exception {
+        Showtime showtime = makeShowtimeInTestTheater();
+        book(showtime, 1).andExpect(status().isOk());
+        book(showtime, 2).andExpect(status().isOk());
+
+        book(showtime, 1)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Showtime Sold Out"));
+    }
+
+    @Test
+    void updateTheater_LargerCapacity_ReopensShowtime() throws Exception {
+        Showtime showtime = makeShowtimeInTestTheater();
+        book(showtime, 1).andExpect(status().isOk());
+        book(showtime, 2).andExpect(status().isOk());
+
+        mockMvc.perform(post("/theaters/update/{theaterName}", "Small Hall")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(makeTheater("Small Hall", 3))))
+                .andExpect(status().isOk());
+
+        book(showtime, 3).andExpect(status().isOk());
+    }
+
+    private Showtime makeShowtimeInTestTheater() {
+        Movie movie = movieRepository.save(makeMovie("Test Movie", "Action", 8.0, 120, 2023));
+        return showtimeRepository.save(makeShowtime(
+                movie,
+                testTheater.getName(),
+                12.99,
+                Instant.now().plus(Duration.ofDays(1)),
+                Instant.now().plus(Duration.ofDays(1)).plus(Duration.ofHours(2))
+        ));
+    }
+
+    private ResultActions book(Showtime showtime, int seatNumber) throws Exception {
+        return mockMvc.perform(post("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new BookingRequest(showtime.getId(), seatNumber, UUID.randomUUID().toString()))));
+    }
+}